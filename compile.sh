@@ -17,7 +17,8 @@ if [ ! -s "$SRC_LIST" ]; then
     exit 1
 fi
 
-javac -encoding UTF-8 -d build/classes @"$SRC_LIST"
+# jdk.incubator.vector: SIMD batch math (com.gameengine.math.VectorBatchKernel)
+javac --add-modules jdk.incubator.vector -encoding UTF-8 -d build/classes @"$SRC_LIST"
 
 if [ $? -eq 0 ]; then
     echo "Compile successful. Output -> build/classes"
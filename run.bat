@@ -18,7 +18,7 @@ for /r "src\main\java" %%f in (*.java) do (
 
 rem 编译
 echo Compiling Java sources...
-javac -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
+javac --add-modules jdk.incubator.vector -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
 if errorlevel 1 (
   echo Compilation failed!
   exit /b 1
@@ -50,4 +50,4 @@ if exist "%NATIVES_PATH%" (
 
 rem 运行程序
 echo Running game...
-java %JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.example.Game
+java --add-modules jdk.incubator.vector %JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.example.Game
@@ -8,4 +8,5 @@ echo "Starting game (HuluSnake)..."
 ./compile.sh
 
 echo "Running HuluSnake..."
-java -cp build/classes com.gameengine.example.HuluSnake
+# without --add-modules the engine falls back to scalar batch math
+java --add-modules jdk.incubator.vector -cp build/classes com.gameengine.example.HuluSnake
@@ -0,0 +1,59 @@
+package com.gameengine.components;
+
+/**
+ * 轴对齐矩形碰撞体，左上角位于 Transform 位置 + 偏移（与 RenderComponent 的矩形一致）
+ */
+public class AabbCollider extends Collider {
+    private float width;
+    private float height;
+    
+    public AabbCollider(float width, float height) {
+        this(width, height, 0, 0);
+    }
+    
+    public AabbCollider(float width, float height, float offsetX, float offsetY) {
+        super(offsetX, offsetY);
+        setSize(width, height);
+    }
+    
+    @Override
+    public Shape getShape() {
+        return Shape.AABB;
+    }
+    
+    @Override
+    public float getLocalMinX() {
+        return offsetX;
+    }
+    
+    @Override
+    public float getLocalMinY() {
+        return offsetY;
+    }
+    
+    @Override
+    public float getLocalMaxX() {
+        return offsetX + width;
+    }
+    
+    @Override
+    public float getLocalMaxY() {
+        return offsetY + height;
+    }
+    
+    public float getWidth() {
+        return width;
+    }
+    
+    public float getHeight() {
+        return height;
+    }
+    
+    public void setSize(float width, float height) {
+        if (!(width >= 0) || !(height >= 0)) {
+            throw new IllegalArgumentException("尺寸不能为负数: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gameengine.components;
+
+/**
+ * 圆形碰撞体，圆心位于 Transform 位置 + 偏移
+ */
+public class CircleCollider extends Collider {
+    private float radius;
+    
+    public CircleCollider(float radius) {
+        this(radius, 0, 0);
+    }
+    
+    public CircleCollider(float radius, float offsetX, float offsetY) {
+        super(offsetX, offsetY);
+        setRadius(radius);
+    }
+    
+    @Override
+    public Shape getShape() {
+        return Shape.CIRCLE;
+    }
+    
+    @Override
+    public float getLocalMinX() {
+        return offsetX - radius;
+    }
+    
+    @Override
+    public float getLocalMinY() {
+        return offsetY - radius;
+    }
+    
+    @Override
+    public float getLocalMaxX() {
+        return offsetX + radius;
+    }
+    
+    @Override
+    public float getLocalMaxY() {
+        return offsetY + radius;
+    }
+    
+    public float getRadius() {
+        return radius;
+    }
+    
+    public void setRadius(float radius) {
+        if (!(radius >= 0)) {
+            throw new IllegalArgumentException("半径不能为负数: " + radius);
+        }
+        this.radius = radius;
+    }
+}
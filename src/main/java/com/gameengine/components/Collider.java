@@ -0,0 +1,305 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+import com.gameengine.math.Affine2;
+
+/**
+ * 碰撞体基类：形状相对 Transform 位置偏移 (offsetX, offsetY)。
+ * 通过 getComponent(Collider.class) 获取对象上的碰撞体，再按 {@link #getShape()} 区分形状。
+ * 世界 AABB 由 {@link #updateBounds()} 计算，每个物理步由 CollisionSystem 刷新。
+ * 碰撞检测的层取自所属 GameObject 的 layer，见 CollisionMatrix
+ */
+public abstract class Collider extends Component<Collider> {
+    public enum Shape {
+        CIRCLE,
+        AABB
+    }
+    
+    protected float offsetX;
+    protected float offsetY;
+    private TransformComponent transform;
+    // 同一对象上的刚体（可能没有），用于判断是否休眠
+    private PhysicsComponent body;
+    // 世界坐标下的锚点（Transform 位置 + 偏移）与 AABB
+    private float originX, originY;
+    private float minX, minY, maxX, maxY;
+    // 宽相位代理句柄与最近一次同步的帧号，由 CollisionSystem 维护
+    private int proxy = -1;
+    private int syncFrame;
+    // 宽相位代理是否已标记为休眠
+    private boolean proxySleeping;
+    
+    protected Collider(float offsetX, float offsetY) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+    
+    @Override
+    public void initialize() {
+        transform = owner.getComponent(TransformComponent.class);
+        body = owner.getComponent(PhysicsComponent.class);
+    }
+    
+    @Override
+    protected void onComponentAdded(Component<?> component) {
+        if (transform == null && component instanceof TransformComponent) {
+            transform = (TransformComponent) component;
+        } else if (body == null && component instanceof PhysicsComponent) {
+            body = (PhysicsComponent) component;
+        }
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        // 检测由 CollisionSystem 批量完成
+    }
+    
+    @Override
+    public void render() {
+    }
+    
+    public abstract Shape getShape();
+    
+    public PhysicsComponent getBody() {
+        return body;
+    }
+    
+    /**
+     * 所属刚体处于休眠时碰撞体视为静止：AABB 与宽相位代理保持不变
+     */
+    public boolean isSleeping() {
+        return body != null && body.isSleeping();
+    }
+    
+    /**
+     * 相对 Transform 位置的包围盒（局部坐标）
+     */
+    public abstract float getLocalMinX();
+    
+    public abstract float getLocalMinY();
+    
+    public abstract float getLocalMaxX();
+    
+    public abstract float getLocalMaxY();
+    
+    /**
+     * 按当前 Transform 位置重算世界 AABB；子对象取最近一次传播的世界位置
+     */
+    public void updateBounds() {
+        float x = 0, y = 0;
+        if (transform != null) {
+            if (transform.getParentTransform() != null) {
+                Affine2 world = transform.getWorldMatrix();
+                x = world.m02;
+                y = world.m12;
+            } else {
+                x = transform.getX();
+                y = transform.getY();
+            }
+        }
+        originX = x + offsetX;
+        originY = y + offsetY;
+        minX = x + getLocalMinX();
+        minY = y + getLocalMinY();
+        maxX = x + getLocalMaxX();
+        maxY = y + getLocalMaxY();
+    }
+    
+    /**
+     * 窄相位：两个碰撞体是否重叠（基于最近一次 updateBounds 的结果，接触边界不算重叠）
+     */
+    public boolean overlaps(Collider other) {
+        if (getShape() == Shape.CIRCLE) {
+            float r = ((CircleCollider) this).getRadius();
+            if (other.getShape() == Shape.CIRCLE) {
+                return circleCircle(originX, originY, r, other.originX, other.originY, ((CircleCollider) other).getRadius());
+            }
+            return circleAabb(originX, originY, r, other.minX, other.minY, other.maxX, other.maxY);
+        }
+        if (other.getShape() == Shape.CIRCLE) {
+            return circleAabb(other.originX, other.originY, ((CircleCollider) other).getRadius(), minX, minY, maxX, maxY);
+        }
+        return aabbAabb(minX, minY, maxX, maxY, other.minX, other.minY, other.maxX, other.maxY);
+    }
+    
+    /**
+     * 连续检测：本碰撞体从最近一次 updateBounds 的位置位移 (dx, dy) 时，首次与静止的 target 接触的时刻 t∈[0, 1]，
+     * 不接触返回 -1，起点已重叠返回 0
+     */
+    public float timeOfImpact(float dx, float dy, Collider target) {
+        if (getShape() == Shape.CIRCLE) {
+            float r = ((CircleCollider) this).getRadius();
+            if (target.getShape() == Shape.CIRCLE) {
+                return sweepCircleCircle(originX, originY, r, dx, dy,
+                    target.originX, target.originY, ((CircleCollider) target).getRadius());
+            }
+            return sweepCircleAabb(originX, originY, r, dx, dy, target.minX, target.minY, target.maxX, target.maxY);
+        }
+        if (target.getShape() == Shape.CIRCLE) {
+            // 相对运动：等价于圆以相反位移扫向静止的矩形
+            return sweepCircleAabb(target.originX, target.originY, ((CircleCollider) target).getRadius(), -dx, -dy,
+                minX, minY, maxX, maxY);
+        }
+        return sweepAabbAabb(minX, minY, maxX, maxY, dx, dy, target.minX, target.minY, target.maxX, target.maxY);
+    }
+    
+    /**
+     * 圆 A 位移 (dx, dy) 时首次与静止圆 B 接触的时刻，见 {@link #timeOfImpact}
+     */
+    public static float sweepCircleCircle(float ax, float ay, float ar, float dx, float dy,
+                                          float bx, float by, float br) {
+        float r = ar + br;
+        float mx = ax - bx, my = ay - by;
+        float c = mx * mx + my * my - r * r;
+        if (c < 0) return 0;
+        float a = dx * dx + dy * dy;
+        float b = mx * dx + my * dy;
+        // 静止或正在远离
+        if (a == 0 || b >= 0) return -1;
+        float disc = b * b - a * c;
+        if (disc < 0) return -1;
+        float t = (-b - (float) Math.sqrt(disc)) / a;
+        return t <= 1 ? Math.max(0, t) : -1;
+    }
+    
+    /**
+     * 圆位移 (dx, dy) 时首次与静止矩形接触的时刻：射线与按半径外扩的矩形求交，
+     * 交点落在外扩矩形的角上时改为与矩形顶点处的圆求交（即圆角矩形）
+     */
+    public static float sweepCircleAabb(float cx, float cy, float r, float dx, float dy,
+                                        float minX, float minY, float maxX, float maxY) {
+        if (circleAabb(cx, cy, r, minX, minY, maxX, maxY)) return 0;
+        float t = rayAabb(cx, cy, dx, dy, minX - r, minY - r, maxX + r, maxY + r);
+        if (t < 0) return -1;
+        float px = cx + dx * t, py = cy + dy * t;
+        boolean outX = px < minX || px > maxX;
+        boolean outY = py < minY || py > maxY;
+        if (outX && outY) {
+            float cornerX = px < minX ? minX : maxX;
+            float cornerY = py < minY ? minY : maxY;
+            return sweepCircleCircle(cx, cy, r, dx, dy, cornerX, cornerY, 0);
+        }
+        return t;
+    }
+    
+    /**
+     * 矩形 A 位移 (dx, dy) 时首次与静止矩形 B 接触的时刻：A 的左上角作为射线起点，
+     * 与按 A 的尺寸向左上外扩的 B 求交
+     */
+    public static float sweepAabbAabb(float aMinX, float aMinY, float aMaxX, float aMaxY, float dx, float dy,
+                                      float bMinX, float bMinY, float bMaxX, float bMaxY) {
+        if (aabbAabb(aMinX, aMinY, aMaxX, aMaxY, bMinX, bMinY, bMaxX, bMaxY)) return 0;
+        return rayAabb(aMinX, aMinY, dx, dy, bMinX - (aMaxX - aMinX), bMinY - (aMaxY - aMinY), bMaxX, bMaxY);
+    }
+    
+    /**
+     * 线段 (x, y) + t * (dx, dy)，t∈[0, 1] 与矩形的首个交点参数（slab 法），不相交返回 -1
+     */
+    private static float rayAabb(float x, float y, float dx, float dy,
+                                 float minX, float minY, float maxX, float maxY) {
+        float tEnter = 0, tExit = 1;
+        if (dx == 0) {
+            if (x < minX || x > maxX) return -1;
+        } else {
+            float inv = 1.0f / dx;
+            float t1 = (minX - x) * inv, t2 = (maxX - x) * inv;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+            if (tEnter > tExit) return -1;
+        }
+        if (dy == 0) {
+            if (y < minY || y > maxY) return -1;
+        } else {
+            float inv = 1.0f / dy;
+            float t1 = (minY - y) * inv, t2 = (maxY - y) * inv;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+            if (tEnter > tExit) return -1;
+        }
+        return tEnter;
+    }
+    
+    public static boolean circleCircle(float ax, float ay, float ar, float bx, float by, float br) {
+        float dx = ax - bx, dy = ay - by;
+        float r = ar + br;
+        return dx * dx + dy * dy < r * r;
+    }
+    
+    public static boolean circleAabb(float cx, float cy, float r, float minX, float minY, float maxX, float maxY) {
+        float dx = cx < minX ? minX - cx : (cx > maxX ? cx - maxX : 0);
+        float dy = cy < minY ? minY - cy : (cy > maxY ? cy - maxY : 0);
+        return dx * dx + dy * dy < r * r;
+    }
+    
+    public static boolean aabbAabb(float aMinX, float aMinY, float aMaxX, float aMaxY,
+                                   float bMinX, float bMinY, float bMaxX, float bMaxY) {
+        return aMinX < bMaxX && bMinX < aMaxX && aMinY < bMaxY && bMinY < aMaxY;
+    }
+    
+    public float getOffsetX() {
+        return offsetX;
+    }
+    
+    public float getOffsetY() {
+        return offsetY;
+    }
+    
+    public void setOffset(float offsetX, float offsetY) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+    
+    /**
+     * 世界坐标下的锚点（圆心，或矩形的左上角）
+     */
+    public float getOriginX() {
+        return originX;
+    }
+    
+    public float getOriginY() {
+        return originY;
+    }
+    
+    public float getMinX() {
+        return minX;
+    }
+    
+    public float getMinY() {
+        return minY;
+    }
+    
+    public float getMaxX() {
+        return maxX;
+    }
+    
+    public float getMaxY() {
+        return maxY;
+    }
+    
+    /**
+     * 宽相位代理句柄（未登记为 -1），由 CollisionSystem 维护
+     */
+    public int getProxy() {
+        return proxy;
+    }
+    
+    public void setProxy(int proxy) {
+        this.proxy = proxy;
+    }
+    
+    public int getSyncFrame() {
+        return syncFrame;
+    }
+    
+    public void setSyncFrame(int syncFrame) {
+        this.syncFrame = syncFrame;
+    }
+    
+    public boolean isProxySleeping() {
+        return proxySleeping;
+    }
+    
+    public void setProxySleeping(boolean proxySleeping) {
+        this.proxySleeping = proxySleeping;
+    }
+}
@@ -1,15 +1,32 @@
 package com.gameengine.components;
 
+import com.gameengine.core.BodyChunk;
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
 
 public class PhysicsComponent extends Component<PhysicsComponent> {
+    // 默认休眠速度阈值（像素/秒）
+    public static final float DEFAULT_SLEEP_THRESHOLD = 2.0f;
+    
     private Vector2 velocity;
     private Vector2 acceleration;
     private float mass;
     private float friction;
     private boolean useGravity;
+    // 高速刚体：PhysicsSystem 对其做连续碰撞检测（扫掠求首次接触时刻），防止一步内穿过其他碰撞体
+    private boolean continuous;
+    // 休眠：速度持续低于阈值一段时间后由 PhysicsSystem 置为休眠，不再积分也不再更新宽相位；
+    // 施加力/冲量、设置非零速度或通过 TransformComponent 改变位置时唤醒。阈值 <= 0 表示永不休眠
+    private float sleepThreshold = DEFAULT_SLEEP_THRESHOLD;
+    private float sleepTime;
+    private boolean sleeping;
+    // 本帧在 PhysicsSystem 休眠分组（岛）中的节点下标
+    private int islandIndex = -1;
     private Vector2 gravity;
+    private TransformComponent transform;
+    // 绑定到 BodyChunk 时，速度/加速度/质量/摩擦/重力存放在块的列中
+    private BodyChunk chunk;
+    private int row = -1;
     
     public PhysicsComponent() {
         this.velocity = new Vector2();
@@ -27,77 +44,269 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     
     @Override
     public void initialize() {
+        transform = owner.getComponent(TransformComponent.class);
+    }
+    
+    @Override
+    protected void onComponentAdded(Component<?> component) {
+        if (transform == null && component instanceof TransformComponent) {
+            transform = (TransformComponent) component;
+        }
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        // 积分由 PhysicsSystem 批量完成
     }
     
     @Override
     public void render() {
     }
     
+    /**
+     * 绑定到原型块的某一行，并把当前数值写入该行
+     */
+    public void bindStorage(BodyChunk chunk, int row) {
+        bindStorage(chunk, row, true);
+    }
+    
+    /**
+     * 绑定到原型块的某一行
+     * @param copyIn 是否把当前数值写入该行（行迁移时为 false）
+     */
+    public void bindStorage(BodyChunk chunk, int row, boolean copyIn) {
+        if (copyIn) {
+            chunk.vx[row] = velocity.x;
+            chunk.vy[row] = velocity.y;
+            chunk.ax[row] = acceleration.x;
+            chunk.ay[row] = acceleration.y;
+            chunk.mass[row] = mass;
+            chunk.friction[row] = friction;
+            chunk.gx[row] = useGravity ? gravity.x : 0;
+            chunk.gy[row] = useGravity ? gravity.y : 0;
+        }
+        this.chunk = chunk;
+        this.row = row;
+    }
+    
+    /**
+     * 解除绑定，把块中的数值拷回组件自身
+     */
+    public void unbindStorage() {
+        if (chunk == null) return;
+        velocity.set(chunk.vx[row], chunk.vy[row]);
+        acceleration.set(chunk.ax[row], chunk.ay[row]);
+        mass = chunk.mass[row];
+        friction = chunk.friction[row];
+        chunk = null;
+        row = -1;
+    }
+    
+    public BodyChunk getStorage() {
+        return chunk;
+    }
+    
+    public int getStorageRow() {
+        return row;
+    }
+    
     public void applyForce(Vector2 force) {
-        if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+        float m = getMass();
+        if (m > 0) {
+            wake();
+            float inv = 1.0f / m;
+            setAcceleration(getAccelerationX() + force.x * inv, getAccelerationY() + force.y * inv);
         }
     }
     
     public void applyImpulse(Vector2 impulse) {
-        if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
+        float m = getMass();
+        if (m > 0) {
+            wake();
+            float inv = 1.0f / m;
+            setVelocity(getVelocityX() + impulse.x * inv, getVelocityY() + impulse.y * inv);
         }
     }
     
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        setVelocity(velocity.x, velocity.y);
     }
     
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        if (x != 0 || y != 0) wake();
+        if (chunk != null) {
+            chunk.vx[row] = x;
+            chunk.vy[row] = y;
+        } else {
+            this.velocity.set(x, y);
+        }
     }
     
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        setAcceleration(acceleration.x, acceleration.y);
+    }
+    
+    public void setAcceleration(float x, float y) {
+        if (x != 0 || y != 0) wake();
+        if (chunk != null) {
+            chunk.ax[row] = x;
+            chunk.ay[row] = y;
+        } else {
+            this.acceleration.set(x, y);
+        }
     }
     
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        setVelocity(getVelocityX() + delta.x, getVelocityY() + delta.y);
     }
     
     public void setGravity(Vector2 gravity) {
-        this.gravity = new Vector2(gravity);
+        wake();
+        this.gravity.set(gravity);
+        syncGravity();
     }
     
     public void setUseGravity(boolean useGravity) {
+        if (useGravity) wake();
         this.useGravity = useGravity;
+        syncGravity();
     }
     
     public void setFriction(float friction) {
         this.friction = Math.max(0, Math.min(1, friction));
+        if (chunk != null) chunk.friction[row] = this.friction;
     }
     
     public void setMass(float mass) {
         this.mass = Math.max(0.1f, mass);
+        if (chunk != null) chunk.mass[row] = this.mass;
+    }
+    
+    private void syncGravity() {
+        if (chunk != null) {
+            chunk.gx[row] = useGravity ? gravity.x : 0;
+            chunk.gy[row] = useGravity ? gravity.y : 0;
+        }
+    }
+    
+    public TransformComponent getTransform() {
+        return transform;
     }
     
     public Vector2 getVelocity() {
-        return new Vector2(velocity);
+        return getVelocity(new Vector2());
+    }
+    
+    /**
+     * 把速度写入 out 并返回 out（不分配）
+     */
+    public Vector2 getVelocity(Vector2 out) {
+        return out.set(getVelocityX(), getVelocityY());
+    }
+    
+    public float getVelocityX() {
+        return chunk != null ? chunk.vx[row] : velocity.x;
+    }
+    
+    public float getVelocityY() {
+        return chunk != null ? chunk.vy[row] : velocity.y;
     }
     
     public Vector2 getAcceleration() {
-        return new Vector2(acceleration);
+        return getAcceleration(new Vector2());
+    }
+    
+    public Vector2 getAcceleration(Vector2 out) {
+        return out.set(getAccelerationX(), getAccelerationY());
+    }
+    
+    public float getAccelerationX() {
+        return chunk != null ? chunk.ax[row] : acceleration.x;
+    }
+    
+    public float getAccelerationY() {
+        return chunk != null ? chunk.ay[row] : acceleration.y;
     }
     
     public float getMass() {
-        return mass;
+        return chunk != null ? chunk.mass[row] : mass;
     }
     
     public float getFriction() {
-        return friction;
+        return chunk != null ? chunk.friction[row] : friction;
     }
     
     public boolean isUseGravity() {
         return useGravity;
     }
     
+    public boolean isContinuous() {
+        return continuous;
+    }
+    
+    public void setContinuous(boolean continuous) {
+        this.continuous = continuous;
+    }
+    
+    public boolean isSleeping() {
+        return sleeping;
+    }
+    
+    /**
+     * 进入休眠：清零速度与加速度
+     */
+    public void sleep() {
+        setVelocity(0, 0);
+        setAcceleration(0, 0);
+        sleeping = true;
+    }
+    
+    /**
+     * 唤醒并重新计时；未休眠时不做任何事
+     */
+    public void wake() {
+        if (sleeping) {
+            sleeping = false;
+            sleepTime = 0;
+        }
+    }
+    
+    public float getSleepThreshold() {
+        return sleepThreshold;
+    }
+    
+    /**
+     * 设置休眠速度阈值（像素/秒），<= 0 时永不休眠
+     */
+    public void setSleepThreshold(float sleepThreshold) {
+        this.sleepThreshold = sleepThreshold;
+        if (sleepThreshold <= 0) wake();
+    }
+    
+    /**
+     * 速度连续低于阈值的时间，由 PhysicsSystem 维护
+     */
+    public float getSleepTime() {
+        return sleepTime;
+    }
+    
+    public void setSleepTime(float sleepTime) {
+        this.sleepTime = sleepTime;
+    }
+    
+    public int getIslandIndex() {
+        return islandIndex;
+    }
+    
+    public void setIslandIndex(int islandIndex) {
+        this.islandIndex = islandIndex;
+    }
+    
     public Vector2 getGravity() {
         return new Vector2(gravity);
     }
+    
+    public Vector2 getGravity(Vector2 out) {
+        return out.set(gravity);
+    }
 }
@@ -2,12 +2,17 @@ package com.gameengine.components;
 
 import com.gameengine.core.Component;
 import com.gameengine.graphics.IRenderer;
+import com.gameengine.math.Affine2;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
 
 public class RenderComponent extends Component<RenderComponent> {
     private IRenderer renderer;
+    private TransformComponent transform;
     private RenderType renderType;
     private Vector2 size;
+    // 渲染时复用的位置缓冲（只在渲染线程使用）
+    private final Vector2 renderPosition = new Vector2();
     private Color color;
     private boolean visible;
     
@@ -48,6 +53,19 @@ public class RenderComponent extends Component<RenderComponent> {
     
     @Override
     public void initialize() {
+        transform = owner.getComponent(TransformComponent.class);
+    }
+    
+    @Override
+    protected void onComponentAdded(Component<?> component) {
+        if (transform == null && component instanceof TransformComponent) {
+            transform = (TransformComponent) component;
+        }
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        // 无逐帧逻辑
     }
     
     @Override
@@ -56,12 +74,21 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
         if (transform == null) {
             return;
         }
         
-        Vector2 position = transform.getPosition();
+        Scene scene = owner != null ? owner.getScene() : null;
+        Vector2 position = scene != null
+            ? transform.getInterpolatedPosition(scene.getRenderAlpha(), renderPosition)
+            : transform.getPosition(renderPosition);
+        
+        // 子对象：局部几何先按自身变换，再经父对象的世界矩阵映射
+        TransformComponent parent = transform.getParentTransform();
+        if (parent != null || transform.hasRotationOrScale()) {
+            renderTransformed(position, transform.getMatrix(), parent != null ? parent.getWorldMatrix() : null);
+            return;
+        }
         
         switch (renderType) {
             case RECTANGLE:
@@ -80,6 +107,64 @@ public class RenderComponent extends Component<RenderComponent> {
         }
     }
     
+    /**
+     * 带旋转/缩放的绘制：使用 Transform 缓存的矩阵线性部分，平移取（插值后的）渲染位置。
+     * 矩形与圆绕自身中心变换，线段绕起点变换；parent 不为 null 时结果再经父世界矩阵映射
+     */
+    private void renderTransformed(Vector2 position, Affine2 m, Affine2 parent) {
+        switch (renderType) {
+            case RECTANGLE: {
+                float hw = size.x * 0.5f, hh = size.y * 0.5f;
+                float cx = position.x + hw, cy = position.y + hh;
+                // 两条半轴经线性变换后的向量
+                float ux = m.m00 * hw, uy = m.m10 * hw;
+                float vx = m.m01 * hh, vy = m.m11 * hh;
+                float x0 = cx - ux - vx, y0 = cy - uy - vy;
+                float x1 = cx + ux - vx, y1 = cy + uy - vy;
+                float x2 = cx + ux + vx, y2 = cy + uy + vy;
+                float x3 = cx - ux + vx, y3 = cy - uy + vy;
+                if (parent != null) {
+                    renderer.drawQuad(
+                        parent.transformX(x0, y0), parent.transformY(x0, y0),
+                        parent.transformX(x1, y1), parent.transformY(x1, y1),
+                        parent.transformX(x2, y2), parent.transformY(x2, y2),
+                        parent.transformX(x3, y3), parent.transformY(x3, y3),
+                        color.r, color.g, color.b, color.a);
+                } else {
+                    renderer.drawQuad(x0, y0, x1, y1, x2, y2, x3, y3,
+                        color.r, color.g, color.b, color.a);
+                }
+                break;
+            }
+            case CIRCLE: {
+                // 不支持椭圆，半径按 x 轴方向的缩放取值
+                float scale = (float) Math.sqrt(m.m00 * m.m00 + m.m10 * m.m10);
+                float cx = position.x + size.x/2, cy = position.y + size.y/2;
+                if (parent != null) {
+                    scale *= (float) Math.sqrt(parent.m00 * parent.m00 + parent.m10 * parent.m10);
+                    float wx = parent.transformX(cx, cy);
+                    cy = parent.transformY(cx, cy);
+                    cx = wx;
+                }
+                renderer.drawCircle(cx, cy, size.x/2 * scale, 16, color.r, color.g, color.b, color.a);
+                break;
+            }
+            case LINE: {
+                float x0 = position.x, y0 = position.y;
+                float x1 = x0 + m.m00 * size.x + m.m01 * size.y;
+                float y1 = y0 + m.m10 * size.x + m.m11 * size.y;
+                if (parent != null) {
+                    renderer.drawLine(parent.transformX(x0, y0), parent.transformY(x0, y0),
+                                    parent.transformX(x1, y1), parent.transformY(x1, y1),
+                                    color.r, color.g, color.b, color.a);
+                } else {
+                    renderer.drawLine(x0, y0, x1, y1, color.r, color.g, color.b, color.a);
+                }
+                break;
+            }
+        }
+    }
+    
     public void setRenderer(IRenderer renderer) {
         this.renderer = renderer;
     }
@@ -92,6 +177,10 @@ public class RenderComponent extends Component<RenderComponent> {
         this.color = new Color(r, g, b, a);
     }
     
+    public void setRenderType(RenderType renderType) {
+        this.renderType = renderType;
+    }
+    
     public void setSize(Vector2 size) {
         this.size = new Vector2(size);
     }
@@ -100,6 +189,10 @@ public class RenderComponent extends Component<RenderComponent> {
         this.visible = visible;
     }
     
+    public TransformComponent getTransform() {
+        return transform;
+    }
+    
     public RenderType getRenderType() {
         return renderType;
     }
@@ -108,6 +201,14 @@ public class RenderComponent extends Component<RenderComponent> {
         return new Vector2(size);
     }
     
+    public float getWidth() {
+        return size.x;
+    }
+    
+    public float getHeight() {
+        return size.y;
+    }
+    
     public Color getColor() {
         return color;
     }
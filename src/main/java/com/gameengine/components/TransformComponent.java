@@ -1,12 +1,34 @@
 package com.gameengine.components;
 
+import com.gameengine.core.BodyChunk;
 import com.gameengine.core.Component;
+import com.gameengine.math.Affine2;
 import com.gameengine.math.Vector2;
 
 public class TransformComponent extends Component<TransformComponent> {
     private Vector2 position;
     private Vector2 scale;
+    // 旋转角（弧度）
     private float rotation;
+    // 仿射矩阵缓存：旋转/缩放变化时置脏，读取时才重算线性部分（含三角函数）；
+    // 平移每次读取时直接写入，因为位置可能被物理系统直接写进 BodyChunk
+    private final Affine2 matrix = new Affine2();
+    private boolean matrixDirty = true;
+    // 层级世界变换（只有参与父子层级的对象使用），由 Scene 按深度优先顺序传播
+    private final Affine2 world = new Affine2();
+    private TransformComponent parentTransform;
+    private boolean inHierarchy;
+    private boolean worldDirty = true;
+    private float worldLocalX, worldLocalY;
+    private final Vector2 worldScratch = new Vector2();
+    // 绑定到 BodyChunk 时，位置存放在块的 x/y 列中
+    private BodyChunk chunk;
+    private int row = -1;
+    // 上一个固定步长 tick 的位置，用于渲染插值
+    private float prevX, prevY;
+    private boolean hasPrevious;
+    // 同一对象上的刚体（可能没有）：直接写位置会唤醒休眠的刚体，使碰撞系统重新登记其包围盒
+    private PhysicsComponent body;
     
     public TransformComponent() {
         this.position = new Vector2();
@@ -27,48 +49,272 @@ public class TransformComponent extends Component<TransformComponent> {
     
     @Override
     public void initialize() {
+        body = owner.getComponent(PhysicsComponent.class);
+    }
+    
+    @Override
+    protected void onComponentAdded(Component<?> component) {
+        if (body == null && component instanceof PhysicsComponent) {
+            body = (PhysicsComponent) component;
+        }
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        // 无逐帧逻辑
     }
     
     @Override
     public void render() {
     }
     
+    /**
+     * 绑定到原型块的某一行，并把当前位置写入该行
+     */
+    public void bindStorage(BodyChunk chunk, int row) {
+        bindStorage(chunk, row, true);
+    }
+    
+    /**
+     * 绑定到原型块的某一行
+     * @param copyIn 是否把当前位置写入该行（行迁移时为 false）
+     */
+    public void bindStorage(BodyChunk chunk, int row, boolean copyIn) {
+        if (copyIn) {
+            chunk.x[row] = getX();
+            chunk.y[row] = getY();
+        }
+        this.chunk = chunk;
+        this.row = row;
+    }
+    
+    /**
+     * 解除绑定，把块中的位置拷回组件自身
+     */
+    public void unbindStorage() {
+        if (chunk == null) return;
+        position.set(chunk.x[row], chunk.y[row]);
+        chunk = null;
+        row = -1;
+    }
+    
+    public BodyChunk getStorage() {
+        return chunk;
+    }
+    
+    public int getStorageRow() {
+        return row;
+    }
+    
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setPosition(newPosition);
     }
     
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        translate(delta.x, delta.y);
+    }
+    
+    public void translate(float dx, float dy) {
+        if (dx != 0 || dy != 0) wakeBody();
+        if (chunk != null) {
+            chunk.x[row] += dx;
+            chunk.y[row] += dy;
+        } else {
+            position.addLocal(dx, dy);
+        }
     }
     
     public void rotate(float angle) {
         this.rotation += angle;
+        matrixDirty = true;
+        worldDirty = true;
     }
     
     public void setRotation(float angle) {
-        this.rotation = angle;
+        if (this.rotation != angle) {
+            this.rotation = angle;
+            matrixDirty = true;
+            worldDirty = true;
+        }
     }
     
     public void scale(Vector2 scaleFactor) {
-        this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        this.scale.set(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        matrixDirty = true;
+        worldDirty = true;
     }
     
     public void setScale(Vector2 newScale) {
-        this.scale = new Vector2(newScale);
+        if (!this.scale.equals(newScale)) {
+            this.scale.set(newScale);
+            matrixDirty = true;
+            worldDirty = true;
+        }
+    }
+    
+    /**
+     * 局部仿射矩阵（平移 * 旋转 * 缩放），返回缓存对象，调用方不得修改
+     */
+    public Affine2 getMatrix() {
+        if (matrixDirty) {
+            matrix.setTransform(0, 0, rotation, scale.x, scale.y);
+            matrixDirty = false;
+        }
+        matrix.m02 = getX();
+        matrix.m12 = getY();
+        return matrix;
+    }
+    
+    /**
+     * 重新计算世界矩阵 = 父世界矩阵 * 局部矩阵（局部平移取插值位置）。
+     * 自身及父级都没有变化时直接返回 false，不做任何矩阵运算
+     * @param parent 最近的带 Transform 的祖先，根节点为 null
+     * @param parentChanged 父级世界矩阵本次是否被重算
+     * @return 世界矩阵是否被重算
+     */
+    public boolean updateWorldTransform(TransformComponent parent, boolean parentChanged, float alpha) {
+        Vector2 local = getInterpolatedPosition(alpha, worldScratch);
+        if (!parentChanged && !worldDirty && parent == parentTransform
+                && local.x == worldLocalX && local.y == worldLocalY) {
+            return false;
+        }
+        parentTransform = parent;
+        inHierarchy = true;
+        worldDirty = false;
+        worldLocalX = local.x;
+        worldLocalY = local.y;
+        world.set(getMatrix());
+        world.m02 = local.x;
+        world.m12 = local.y;
+        if (parent != null) {
+            world.multiply(parent.world, world);
+        }
+        return true;
+    }
+    
+    /**
+     * 离开层级时由 Scene 调用
+     */
+    public void resetWorldTransform() {
+        parentTransform = null;
+        inHierarchy = false;
+        worldDirty = true;
+    }
+    
+    /**
+     * 世界矩阵；不在层级中的对象即局部矩阵。返回缓存对象，调用方不得修改
+     */
+    public Affine2 getWorldMatrix() {
+        return inHierarchy ? world : getMatrix();
+    }
+    
+    /**
+     * 最近的带 Transform 的祖先（不在层级中或为根时为 null）
+     */
+    public TransformComponent getParentTransform() {
+        return parentTransform;
+    }
+    
+    /**
+     * 是否有旋转或非单位缩放（否则渲染可走轴对齐快速路径）
+     */
+    public boolean hasRotationOrScale() {
+        return rotation != 0 || scale.x != 1 || scale.y != 1;
     }
     
     public Vector2 getPosition() {
-        return new Vector2(position);
+        return new Vector2(getX(), getY());
+    }
+    
+    /**
+     * 把位置写入 out 并返回 out（不分配）
+     */
+    public Vector2 getPosition(Vector2 out) {
+        return out.set(getX(), getY());
+    }
+    
+    public float getX() {
+        return chunk != null ? chunk.x[row] : position.x;
+    }
+    
+    public float getY() {
+        return chunk != null ? chunk.y[row] : position.y;
     }
     
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setPosition(position.x, position.y);
+    }
+    
+    public void setPosition(float x, float y) {
+        if (x != getX() || y != getY()) wakeBody();
+        if (chunk != null) {
+            chunk.x[row] = x;
+            chunk.y[row] = y;
+        } else {
+            this.position.set(x, y);
+        }
+    }
+    
+    private void wakeBody() {
+        if (body != null && body.isSleeping()) {
+            body.wake();
+        }
+    }
+    
+    /**
+     * 瞬移到 (x, y)：设置位置并清除插值起点，渲染时不会从旧位置拉出一段轨迹
+     */
+    public void teleport(float x, float y) {
+        setPosition(x, y);
+        resetInterpolation();
+    }
+    
+    public void teleport(Vector2 position) {
+        teleport(position.x, position.y);
+    }
+    
+    /**
+     * 记录当前位置作为插值起点
+     */
+    public void storePrevious() {
+        prevX = getX();
+        prevY = getY();
+        hasPrevious = true;
+    }
+    
+    /**
+     * 清除插值起点（瞬移后调用，避免渲染出中间位置）；对象加入场景与从对象池取出时会自动调用
+     */
+    public void resetInterpolation() {
+        hasPrevious = false;
+    }
+    
+    /**
+     * 在上一 tick 与当前位置之间插值，没有记录过上一位置时返回当前位置
+     */
+    public Vector2 getInterpolatedPosition(float alpha) {
+        return getInterpolatedPosition(alpha, new Vector2());
+    }
+    
+    /**
+     * 插值位置写入 out 并返回 out（不分配）
+     */
+    public Vector2 getInterpolatedPosition(float alpha, Vector2 out) {
+        if (!hasPrevious || alpha >= 1.0f) {
+            return getPosition(out);
+        }
+        float x = getX(), y = getY();
+        return out.set(prevX + (x - prevX) * alpha, prevY + (y - prevY) * alpha);
     }
     
     public Vector2 getScale() {
         return new Vector2(scale);
     }
     
+    public Vector2 getScale(Vector2 out) {
+        return out.set(scale);
+    }
+    
     public float getRotation() {
         return rotation;
     }
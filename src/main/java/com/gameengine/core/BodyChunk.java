@@ -0,0 +1,154 @@
+package com.gameengine.core;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import java.util.Arrays;
+
+/**
+ * 刚体原型块：同时拥有 TransformComponent 与 PhysicsComponent 的实体
+ * 以结构数组（SoA）的形式存放在连续的 float[] 列中，便于物理系统顺序扫描。
+ * 组件本身作为外观（facade），绑定后读写都落到对应的行上。
+ */
+public final class BodyChunk {
+    public float[] x, y;
+    public float[] vx, vy;
+    public float[] ax, ay;
+    public float[] mass, friction;
+    // 重力列只保存生效的重力（未启用重力时为 0）
+    public float[] gx, gy;
+    // 边界处理时位置的取值范围，由物理系统按碰撞体的局部包围盒与屏幕尺寸填写
+    public float[] minX, minY, maxX, maxY;
+    
+    private PhysicsComponent[] bodies;
+    private TransformComponent[] transforms;
+    private int[] stamps;
+    private int size;
+    
+    public BodyChunk() {
+        this(64);
+    }
+    
+    public BodyChunk(int capacity) {
+        capacity = Math.max(1, capacity);
+        x = new float[capacity]; y = new float[capacity];
+        vx = new float[capacity]; vy = new float[capacity];
+        ax = new float[capacity]; ay = new float[capacity];
+        mass = new float[capacity]; friction = new float[capacity];
+        gx = new float[capacity]; gy = new float[capacity];
+        minX = new float[capacity]; minY = new float[capacity];
+        maxX = new float[capacity]; maxY = new float[capacity];
+        bodies = new PhysicsComponent[capacity];
+        transforms = new TransformComponent[capacity];
+        stamps = new int[capacity];
+    }
+    
+    /**
+     * 将一个刚体加入块中，组件当前的数值会被拷贝到新行
+     * @return 行号
+     */
+    public int add(PhysicsComponent physics, TransformComponent transform) {
+        if (size == bodies.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        bodies[row] = physics;
+        transforms[row] = transform;
+        stamps[row] = 0;
+        transform.bindStorage(this, row);
+        physics.bindStorage(this, row);
+        return row;
+    }
+    
+    /**
+     * 移除一行（与末行交换），被移动的行会重新绑定到组件上，
+     * 被移除的组件会把数值拷回自身字段
+     */
+    public void remove(int row) {
+        if (row < 0 || row >= size) return;
+        bodies[row].unbindStorage();
+        transforms[row].unbindStorage();
+        int last = --size;
+        if (row != last) {
+            x[row] = x[last]; y[row] = y[last];
+            vx[row] = vx[last]; vy[row] = vy[last];
+            ax[row] = ax[last]; ay[row] = ay[last];
+            mass[row] = mass[last]; friction[row] = friction[last];
+            gx[row] = gx[last]; gy[row] = gy[last];
+            minX[row] = minX[last]; minY[row] = minY[last];
+            maxX[row] = maxX[last]; maxY[row] = maxY[last];
+            bodies[row] = bodies[last];
+            transforms[row] = transforms[last];
+            stamps[row] = stamps[last];
+            transforms[row].bindStorage(this, row, false);
+            bodies[row].bindStorage(this, row, false);
+        }
+        bodies[last] = null;
+        transforms[last] = null;
+    }
+    
+    /**
+     * 移除所有行，组件恢复为独立存储
+     */
+    public void clear() {
+        while (size > 0) {
+            remove(size - 1);
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public PhysicsComponent getBody(int row) {
+        return bodies[row];
+    }
+    
+    public TransformComponent getTransform(int row) {
+        return transforms[row];
+    }
+    
+    /**
+     * 设置某行边界处理时位置的取值范围
+     */
+    public void setBounds(int row, float minX, float minY, float maxX, float maxY) {
+        this.minX[row] = minX;
+        this.minY[row] = minY;
+        this.maxX[row] = maxX;
+        this.maxY[row] = maxY;
+    }
+    
+    /**
+     * 标记某行在给定帧仍然存活，配合 {@link #removeStale(int)} 做成员同步
+     */
+    public void touch(int row, int frame) {
+        stamps[row] = frame;
+    }
+    
+    /**
+     * 移除所有在给定帧没有被 touch 过的行
+     * @return 移除的行数
+     */
+    public int removeStale(int frame) {
+        int removed = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (stamps[i] != frame) {
+                remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity); y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity); vy = Arrays.copyOf(vy, capacity);
+        ax = Arrays.copyOf(ax, capacity); ay = Arrays.copyOf(ay, capacity);
+        mass = Arrays.copyOf(mass, capacity); friction = Arrays.copyOf(friction, capacity);
+        gx = Arrays.copyOf(gx, capacity); gy = Arrays.copyOf(gy, capacity);
+        minX = Arrays.copyOf(minX, capacity); minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity); maxY = Arrays.copyOf(maxY, capacity);
+        bodies = Arrays.copyOf(bodies, capacity);
+        transforms = Arrays.copyOf(transforms, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gameengine.core;
+
+import com.gameengine.components.Collider;
+import java.util.List;
+
+/**
+ * 宽相位：维护碰撞体的世界 AABB，找出 AABB 相交的候选对交给窄相位。
+ * 代理句柄保存在 Collider 上（见 {@link Collider#getProxy()}），由 CollisionSystem 登记与注销
+ */
+public interface Broadphase {
+    /**
+     * 按碰撞体当前的世界 AABB 登记，返回代理句柄
+     */
+    int add(Collider collider);
+    
+    /**
+     * 碰撞体的 AABB 已变化
+     */
+    void update(int proxy, Collider collider);
+    
+    void remove(int proxy);
+    
+    /**
+     * 代理所属的刚体进入或离开休眠。新登记的代理是醒着的
+     */
+    void setSleeping(int proxy, boolean sleeping);
+    
+    /**
+     * 找出 AABB 相交、且至少一方醒着的候选对（每对一次，顺序不定），写入 out（调用前已清空）。
+     * 查找只从醒着的代理出发，两个休眠代理之间的接触由调用方自行保持
+     */
+    void findPairs(PairBuffer out);
+    
+    /**
+     * 查询 AABB 与给定矩形相交的碰撞体（基于最近一次登记/更新的包围盒），追加到 out
+     */
+    void query(float minX, float minY, float maxX, float maxY, List<Collider> out);
+    
+    /**
+     * 注销全部代理（调用方负责重置 Collider 上的句柄）
+     */
+    void clear();
+    
+    /**
+     * 用于统计与对比的名称
+     */
+    String name();
+}
@@ -0,0 +1,60 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+/**
+ * 层碰撞矩阵：每层一个 64 位掩码，记录与哪些层发生碰撞（默认全部碰撞）。
+ * 层取自 GameObject 的 layer，判断只需一次按位与
+ */
+public final class CollisionMatrix {
+    public static final int MAX_LAYERS = 64;
+    
+    private final long[] masks = new long[MAX_LAYERS];
+    
+    public CollisionMatrix() {
+        Arrays.fill(masks, -1L);
+    }
+    
+    /**
+     * 设置两层之间是否碰撞（对称）
+     */
+    public void setCollides(int layerA, int layerB, boolean collides) {
+        checkLayer(layerA);
+        checkLayer(layerB);
+        if (collides) {
+            masks[layerA] |= 1L << layerB;
+            masks[layerB] |= 1L << layerA;
+        } else {
+            masks[layerA] &= ~(1L << layerB);
+            masks[layerB] &= ~(1L << layerA);
+        }
+    }
+    
+    public boolean canCollide(int layerA, int layerB) {
+        return (masks[layerA] & (1L << layerB)) != 0L;
+    }
+    
+    /**
+     * 与指定层碰撞的层掩码
+     */
+    public long getMask(int layer) {
+        checkLayer(layer);
+        return masks[layer];
+    }
+    
+    /**
+     * 整行替换某层的掩码，其他层的对应位同步更新以保持对称
+     */
+    public void setMask(int layer, long mask) {
+        checkLayer(layer);
+        for (int other = 0; other < MAX_LAYERS; other++) {
+            setCollides(layer, other, (mask & (1L << other)) != 0L);
+        }
+    }
+    
+    private static void checkLayer(int layer) {
+        if (layer < 0 || layer >= MAX_LAYERS) {
+            throw new IllegalArgumentException("层下标超出范围: " + layer);
+        }
+    }
+}
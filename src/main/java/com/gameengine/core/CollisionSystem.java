@@ -0,0 +1,356 @@
+package com.gameengine.core;
+
+import com.gameengine.components.Collider;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.ComponentQuery;
+import com.gameengine.scene.Scene;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 碰撞系统：每个物理步在 PhysicsSystem 之后执行。
+ * 先把碰撞体的世界 AABB 同步到宽相位（默认均匀网格，可换成排序扫描），再对候选对做层矩阵过滤与形状重叠测试（窄相位），
+ * 与上一步的接触对比较得到 ENTER/STAY/EXIT 事件，步末一次性交给监听器。
+ * 每个对象按其第一个碰撞体参与检测，同一对象的碰撞体之间不产生接触。
+ * 休眠刚体的碰撞体不刷新 AABB，其代理在宽相位中标记为休眠，候选对只从醒着的代理出发查找；
+ * 两个都在休眠的对象不做窄相位测试，已有接触原样保持（STAY）
+ */
+public class CollisionSystem implements GameSystem {
+    public static final int ORDER = PhysicsSystem.ORDER + 10;
+    
+    private final ComponentQuery colliders;
+    private Broadphase broadphase;
+    private final PairBuffer candidatePairs = new PairBuffer();
+    private final CollisionMatrix matrix = new CollisionMatrix();
+    // 已登记到宽相位的碰撞体，用于找出已离开场景的碰撞体
+    private final List<Collider> tracked = new ArrayList<>();
+    private int frame;
+    // 接触对：两个对象 id 组成的键 -> contacts 下标
+    private final PairTable pairs = new PairTable();
+    private Contact[] contacts = new Contact[16];
+    private int contactCount;
+    // 本步事件，对象复用
+    private ContactEvent[] events = new ContactEvent[16];
+    private int eventCount;
+    private final List<ContactEvent> eventsView = new EventsView();
+    private final List<ContactListener> listeners = new ArrayList<>();
+    // 本步宽相位输出的候选对数、窄相位测试数，以及宽相位耗时
+    private int candidateCount;
+    private int pairTests;
+    private long broadphaseNanos;
+    
+    public CollisionSystem(Scene scene) {
+        this(scene, Scene.DEFAULT_SPATIAL_CELL_SIZE);
+    }
+    
+    public CollisionSystem(Scene scene, float cellSize) {
+        this(scene, new GridBroadphase(cellSize));
+    }
+    
+    public CollisionSystem(Scene scene, Broadphase broadphase) {
+        this.colliders = scene.query(Collider.class);
+        this.broadphase = broadphase;
+    }
+    
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+    
+    @Override
+    public Class<?>[] getReads() {
+        return new Class<?>[] { Collider.class, TransformComponent.class };
+    }
+    
+    // 新接触会唤醒休眠的刚体
+    @Override
+    public Class<?>[] getWrites() {
+        return new Class<?>[] { Collider.class, PhysicsComponent.class };
+    }
+    
+    public CollisionMatrix getMatrix() {
+        return matrix;
+    }
+    
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+    
+    /**
+     * 切换宽相位实现（便于对比），碰撞体在下一步重新登记，已有接触保持不变
+     */
+    public void setBroadphase(Broadphase broadphase) {
+        if (broadphase == this.broadphase) return;
+        resetProxies();
+        this.broadphase = broadphase;
+    }
+    
+    public void addListener(ContactListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(ContactListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * 最近一步的接触事件（只读视图，下一步会被覆盖）
+     */
+    public List<ContactEvent> getEvents() {
+        return eventsView;
+    }
+    
+    /**
+     * 当前处于接触中的对数
+     */
+    public int getContactCount() {
+        return contactCount;
+    }
+    
+    /**
+     * 第 index 个接触对中 id 较小的一方，与 {@link #getContactSecond(int)} 一起遍历当前接触
+     */
+    public Collider getContactFirst(int index) {
+        return contacts[index].a;
+    }
+    
+    public Collider getContactSecond(int index) {
+        return contacts[index].b;
+    }
+    
+    /**
+     * 最近一步宽相位输出的候选对数
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+    
+    /**
+     * 最近一步通过层矩阵过滤、做了窄相位测试的对数
+     */
+    public int getPairTests() {
+        return pairTests;
+    }
+    
+    /**
+     * 最近一步宽相位（同步代理与求候选对）的耗时
+     */
+    public long getBroadphaseNanos() {
+        return broadphaseNanos;
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        frame++;
+        eventCount = 0;
+        pairTests = 0;
+        long start = System.nanoTime();
+        syncBroadphase();
+        candidatePairs.clear();
+        broadphase.findPairs(candidatePairs);
+        candidateCount = candidatePairs.size();
+        broadphaseNanos = System.nanoTime() - start;
+        findContacts();
+        emitExits();
+        for (int i = 0, n = listeners.size(); i < n; i++) {
+            listeners.get(i).onContacts(eventsView);
+        }
+    }
+    
+    /**
+     * 刷新所有碰撞体的 AABB 并登记/更新到宽相位，移除已离开场景的碰撞体
+     */
+    private void syncBroadphase() {
+        List<Collider> list = colliders.getComponents();
+        for (int i = 0, n = list.size(); i < n; i++) {
+            Collider c = list.get(i);
+            if (c.getProxy() >= 0 && c.isSleeping()) {
+                if (!c.isProxySleeping()) {
+                    broadphase.setSleeping(c.getProxy(), true);
+                    c.setProxySleeping(true);
+                }
+                c.setSyncFrame(frame);
+                continue;
+            }
+            c.updateBounds();
+            if (c.getProxy() < 0) {
+                c.setProxy(broadphase.add(c));
+                c.setProxySleeping(false);
+                tracked.add(c);
+            } else {
+                broadphase.update(c.getProxy(), c);
+                if (c.isProxySleeping()) {
+                    broadphase.setSleeping(c.getProxy(), false);
+                    c.setProxySleeping(false);
+                }
+            }
+            c.setSyncFrame(frame);
+        }
+        for (int i = tracked.size() - 1; i >= 0; i--) {
+            Collider c = tracked.get(i);
+            if (c.getSyncFrame() != frame) {
+                broadphase.remove(c.getProxy());
+                c.setProxy(-1);
+                int last = tracked.size() - 1;
+                tracked.set(i, tracked.get(last));
+                tracked.remove(last);
+            }
+        }
+    }
+    
+    private void findContacts() {
+        PairBuffer candidates = candidatePairs;
+        for (int i = 0, n = candidates.size(); i < n; i++) {
+            Collider a = candidates.getFirst(i);
+            Collider b = candidates.getSecond(i);
+            GameObject ownerA = a.getOwner();
+            GameObject ownerB = b.getOwner();
+            if (ownerA == ownerB || !a.isEnabled() || !b.isEnabled() || !ownerA.isActive() || !ownerB.isActive()) continue;
+            if (!matrix.canCollide(ownerA.getLayer(), ownerB.getLayer())) continue;
+            pairTests++;
+            if (a.overlaps(b)) {
+                // 事件中 a 总是 id 较小的一方，与接触对的键一致
+                if (ownerA.getId() < ownerB.getId()) {
+                    touch(a, b, pairKey(ownerA.getId(), ownerB.getId()));
+                } else {
+                    touch(b, a, pairKey(ownerB.getId(), ownerA.getId()));
+                }
+            }
+        }
+        candidates.clear();
+    }
+    
+    private void touch(Collider a, Collider b, long key) {
+        int index = pairs.get(key);
+        if (index < 0) {
+            // 新接触唤醒休眠的一方
+            wake(a);
+            wake(b);
+            if (contactCount == contacts.length) {
+                contacts = Arrays.copyOf(contacts, contactCount * 2);
+            }
+            Contact contact = contacts[contactCount];
+            if (contact == null) {
+                contact = new Contact();
+                contacts[contactCount] = contact;
+            }
+            contact.key = key;
+            contact.a = a;
+            contact.b = b;
+            contact.frame = frame;
+            pairs.put(key, contactCount++);
+            emit(ContactEvent.Type.ENTER, a, b);
+        } else {
+            Contact contact = contacts[index];
+            contact.a = a;
+            contact.b = b;
+            contact.frame = frame;
+            emit(ContactEvent.Type.STAY, a, b);
+        }
+    }
+    
+    /**
+     * 本步未再出现的接触对产生 EXIT 并移除（与末尾交换）；
+     * 双方都在休眠的接触不会被宽相位找到，它们没有移动，原样保持
+     */
+    private void emitExits() {
+        for (int i = contactCount - 1; i >= 0; i--) {
+            Contact contact = contacts[i];
+            if (contact.frame == frame) continue;
+            if (isResting(contact.a) && isResting(contact.b)) {
+                contact.frame = frame;
+                emit(ContactEvent.Type.STAY, contact.a, contact.b);
+                continue;
+            }
+            emit(ContactEvent.Type.EXIT, contact.a, contact.b);
+            pairs.remove(contact.key);
+            int last = --contactCount;
+            if (i != last) {
+                contacts[i] = contacts[last];
+                contacts[last] = contact;
+                pairs.put(contacts[i].key, i);
+            }
+            contact.a = null;
+            contact.b = null;
+        }
+    }
+    
+    /**
+     * 休眠且仍参与检测（本步已同步、启用、对象活动）
+     */
+    private boolean isResting(Collider c) {
+        return c.isSleeping() && c.getSyncFrame() == frame && c.isEnabled() && c.getOwner().isActive();
+    }
+    
+    private static void wake(Collider c) {
+        PhysicsComponent body = c.getBody();
+        if (body != null) body.wake();
+    }
+    
+    private void emit(ContactEvent.Type type, Collider a, Collider b) {
+        if (eventCount == events.length) {
+            events = Arrays.copyOf(events, eventCount * 2);
+        }
+        ContactEvent event = events[eventCount];
+        if (event == null) {
+            event = new ContactEvent();
+            events[eventCount] = event;
+        }
+        event.set(type, a, b);
+        eventCount++;
+    }
+    
+    private static long pairKey(int idA, int idB) {
+        return ((long) idA << 32) | (idB & 0xffffffffL);
+    }
+    
+    /**
+     * 清空宽相位与接触状态（不产生 EXIT 事件）
+     */
+    public void cleanup() {
+        resetProxies();
+        for (int i = 0; i < contactCount; i++) {
+            contacts[i].a = null;
+            contacts[i].b = null;
+        }
+        contactCount = 0;
+        pairs.clear();
+        eventCount = 0;
+    }
+    
+    private void resetProxies() {
+        for (int i = 0, n = tracked.size(); i < n; i++) {
+            tracked.get(i).setProxy(-1);
+            tracked.get(i).setProxySleeping(false);
+        }
+        tracked.clear();
+        broadphase.clear();
+    }
+    
+    private static final class Contact {
+        long key;
+        Collider a;
+        Collider b;
+        int frame;
+    }
+    
+    private class EventsView extends AbstractList<ContactEvent> implements RandomAccess {
+        @Override
+        public ContactEvent get(int index) {
+            if (index < 0 || index >= eventCount) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + eventCount);
+            }
+            return events[index];
+        }
+        
+        @Override
+        public int size() {
+            return eventCount;
+        }
+    }
+}
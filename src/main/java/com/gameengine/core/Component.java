@@ -8,10 +8,12 @@ public abstract class Component<T extends Component<T>> {
     protected GameObject owner;
     protected boolean enabled;
     protected String name;
+    private final int typeId;
     
     public Component() {
         this.enabled = true;
         this.name = this.getClass().getSimpleName();
+        this.typeId = ComponentRegistry.idOf(this.getClass());
     }
     
     /**
@@ -30,6 +32,12 @@ public abstract class Component<T extends Component<T>> {
      */
     public abstract void render();
     
+    /**
+     * 同一对象上添加了新的兄弟组件时回调，子类可借此缓存兄弟组件引用
+     */
+    protected void onComponentAdded(Component<?> component) {
+    }
+    
     /**
      * 销毁组件
      */
@@ -45,6 +53,13 @@ public abstract class Component<T extends Component<T>> {
         return (Class<T>) this.getClass();
     }
     
+    /**
+     * 获取组件类型 id（见 {@link ComponentRegistry}）
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+    
     // Getters and Setters
     public GameObject getOwner() {
         return owner;
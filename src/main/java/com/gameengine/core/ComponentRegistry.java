@@ -0,0 +1,45 @@
+package com.gameengine.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 组件类型注册表，为每个组件类分配稠密的整数 id
+ * GameObject 以该 id 作为下标在数组中存放组件，使组件查找成为一次数组访问
+ */
+public final class ComponentRegistry {
+    private static final Map<Class<?>, Integer> ids = new HashMap<>();
+    private static int nextId = 0;
+    
+    private static final ClassValue<Integer> cache = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return register(type);
+        }
+    };
+    
+    private ComponentRegistry() {}
+    
+    /**
+     * 获取组件类型 id，首次访问时自动注册
+     */
+    public static int idOf(Class<?> componentType) {
+        return cache.get(componentType);
+    }
+    
+    /**
+     * 当前已注册的类型数量（即 id 上界）
+     */
+    public static synchronized int size() {
+        return nextId;
+    }
+    
+    private static synchronized int register(Class<?> componentType) {
+        Integer id = ids.get(componentType);
+        if (id == null) {
+            id = nextId++;
+            ids.put(componentType, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,58 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.ComponentQuery;
+import com.gameengine.scene.Scene;
+import java.util.List;
+
+/**
+ * 按类型批量更新组件的系统：注册后该类型的组件不再由 GameObject 逐个更新，
+ * 而是在本系统中对同类组件连续调用 update，调用点只见到单一类型。
+ * 按精确类型匹配：子类组件仍由其所属对象更新。
+ * 组件的 update 可以读写所属对象上的任意组件，因此不声明读写集合，按接口约定独占执行。
+ * @param <T> 组件类型
+ */
+public class ComponentUpdateSystem<T extends Component<T>> implements GameSystem {
+    private final Class<T> componentType;
+    private final int typeId;
+    private final int order;
+    private ComponentQuery query;
+    
+    public ComponentUpdateSystem(Class<T> componentType, int order) {
+        this.componentType = componentType;
+        this.typeId = ComponentRegistry.idOf(componentType);
+        this.order = order;
+    }
+    
+    @Override
+    public int getOrder() {
+        return order;
+    }
+    
+    @Override
+    public void onAttach(Scene scene) {
+        query = scene.query(componentType);
+        scene.setBatchedType(typeId, true);
+    }
+    
+    @Override
+    public void onDetach(Scene scene) {
+        scene.setBatchedType(typeId, false);
+        query = null;
+    }
+    
+    @Override
+    public void update(float deltaTime) {
+        if (query == null) return;
+        List<T> components = query.getComponents();
+        for (int i = 0, n = components.size(); i < n; i++) {
+            T component = components.get(i);
+            if (component.getTypeId() == typeId && component.isEnabled() && component.getOwner().isActive()) {
+                component.update(deltaTime);
+            }
+        }
+    }
+    
+    public Class<T> getComponentType() {
+        return componentType;
+    }
+}
@@ -0,0 +1,59 @@
+package com.gameengine.core;
+
+import com.gameengine.components.Collider;
+
+/**
+ * 一对碰撞体的接触事件。事件对象由 CollisionSystem 复用，
+ * 只在本次回调或下一个物理步之前有效，不应长期持有
+ */
+public final class ContactEvent {
+    public enum Type {
+        // 本步开始重叠
+        ENTER,
+        // 上一步已重叠，本步仍重叠
+        STAY,
+        // 上一步重叠，本步不再重叠（或有一方已离开场景）
+        EXIT
+    }
+    
+    private Type type;
+    private Collider a;
+    private Collider b;
+    
+    void set(Type type, Collider a, Collider b) {
+        this.type = type;
+        this.a = a;
+        this.b = b;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Collider getA() {
+        return a;
+    }
+    
+    public Collider getB() {
+        return b;
+    }
+    
+    /**
+     * 事件是否涉及指定对象
+     */
+    public boolean involves(GameObject obj) {
+        return a.getOwner() == obj || b.getOwner() == obj;
+    }
+    
+    /**
+     * 与 obj 接触的另一方对象
+     */
+    public GameObject other(GameObject obj) {
+        return a.getOwner() == obj ? b.getOwner() : a.getOwner();
+    }
+    
+    @Override
+    public String toString() {
+        return type + "(" + a.getOwner().getName() + ", " + b.getOwner().getName() + ")";
+    }
+}
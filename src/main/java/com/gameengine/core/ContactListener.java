@@ -0,0 +1,13 @@
+package com.gameengine.core;
+
+import java.util.List;
+
+/**
+ * 接触事件监听器，每个物理步结束时收到该步的全部事件
+ */
+public interface ContactListener {
+    /**
+     * @param events 本步事件（只读，按 ENTER/STAY、EXIT 的产生顺序）
+     */
+    void onContacts(List<ContactEvent> events);
+}
@@ -0,0 +1,38 @@
+package com.gameengine.core;
+
+/**
+ * 分代实体 id：低 20 位为槽位下标，高 12 位为代数，打包在一个 int 中。
+ * 槽位被回收后代数递增，旧 id 因代数不匹配而自动失效。
+ * 代数从 1 开始，因此有效 id 永远不为 {@link #NONE}。
+ */
+public final class EntityId {
+    public static final int NONE = 0;
+    public static final int INDEX_BITS = 20;
+    public static final int MAX_INDEX = (1 << INDEX_BITS) - 1;
+    public static final int MAX_GENERATION = (1 << (32 - INDEX_BITS)) - 1;
+    
+    private EntityId() {}
+    
+    public static int of(int index, int generation) {
+        return (generation << INDEX_BITS) | (index & MAX_INDEX);
+    }
+    
+    public static int index(int id) {
+        return id & MAX_INDEX;
+    }
+    
+    public static int generation(int id) {
+        return id >>> INDEX_BITS;
+    }
+    
+    /**
+     * 代数递增，跳过 0 以保证 id 不为 NONE
+     */
+    public static int nextGeneration(int generation) {
+        return generation >= MAX_GENERATION ? 1 : generation + 1;
+    }
+    
+    public static String toString(int id) {
+        return id == NONE ? "none" : index(id) + "v" + generation(id);
+    }
+}
@@ -0,0 +1,108 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+/**
+ * 以分代实体 id 为键的稀疏集合映射：按槽位下标直接寻址，
+ * 值存放在紧凑数组中便于遍历，增删查均为 O(1) 且不装箱。
+ */
+public final class EntityMap<V> {
+    private int[] sparse;      // 槽位下标 -> 紧凑下标 + 1（0 表示不存在）
+    private int[] denseIds;
+    private Object[] denseValues;
+    private int size;
+    
+    public EntityMap() {
+        this(16);
+    }
+    
+    public EntityMap(int capacity) {
+        capacity = Math.max(1, capacity);
+        sparse = new int[capacity];
+        denseIds = new int[capacity];
+        denseValues = new Object[capacity];
+    }
+    
+    public void put(int id, V value) {
+        int index = EntityId.index(id);
+        if (index >= sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.max(index + 1, sparse.length * 2));
+        }
+        int slot = sparse[index] - 1;
+        if (slot < 0) {
+            if (size == denseIds.length) {
+                denseIds = Arrays.copyOf(denseIds, size * 2);
+                denseValues = Arrays.copyOf(denseValues, size * 2);
+            }
+            slot = size++;
+            sparse[index] = slot + 1;
+        }
+        denseIds[slot] = id;
+        denseValues[slot] = value;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V get(int id) {
+        int slot = slotOf(id);
+        return slot < 0 ? null : (V) denseValues[slot];
+    }
+    
+    public boolean containsKey(int id) {
+        return slotOf(id) >= 0;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V remove(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) return null;
+        V value = (V) denseValues[slot];
+        removeAt(slot);
+        return value;
+    }
+    
+    /**
+     * 按紧凑下标删除（与末尾交换），遍历时删除需倒序进行
+     */
+    public void removeAt(int slot) {
+        int last = --size;
+        sparse[EntityId.index(denseIds[slot])] = 0;
+        if (slot != last) {
+            denseIds[slot] = denseIds[last];
+            denseValues[slot] = denseValues[last];
+            sparse[EntityId.index(denseIds[slot])] = slot + 1;
+        }
+        denseValues[last] = null;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int idAt(int slot) {
+        return denseIds[slot];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) denseValues[slot];
+    }
+    
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            sparse[EntityId.index(denseIds[i])] = 0;
+            denseValues[i] = null;
+        }
+        size = 0;
+    }
+    
+    private int slotOf(int id) {
+        int index = EntityId.index(id);
+        if (index >= sparse.length) return -1;
+        int slot = sparse[index] - 1;
+        return (slot >= 0 && denseIds[slot] == id) ? slot : -1;
+    }
+}
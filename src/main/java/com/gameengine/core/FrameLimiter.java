@@ -0,0 +1,153 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+/**
+ * 基于 System.nanoTime 的帧率限制器：距离截止时间较远时 sleep，
+ * 最后一小段改为自旋等待，以获得亚毫秒级的帧间隔精度。
+ * 同时统计最近若干帧的帧间隔（均值、p99）与错过截止时间的次数。
+ * 只应由游戏循环线程调用。
+ */
+public class FrameLimiter {
+    // 剩余时间小于该阈值时改为自旋
+    private static final long DEFAULT_SPIN_NANOS = 2_000_000L;
+    private static final int HISTORY = 240;
+    
+    private long periodNanos;
+    private boolean uncapped;
+    private long spinNanos = DEFAULT_SPIN_NANOS;
+    private long nextDeadline;
+    private long lastFrameStart;
+    // 帧间隔环形缓冲
+    private final long[] frameNanos = new long[HISTORY];
+    private int historyCount;
+    private int historyIndex;
+    private long frameCount;
+    private long missedDeadlines;
+    
+    public FrameLimiter(float targetFPS) {
+        setTargetFPS(targetFPS);
+    }
+    
+    /**
+     * 设置目标帧率，非正数表示不限帧
+     */
+    public void setTargetFPS(float fps) {
+        periodNanos = fps <= 0 ? 0 : (long) (1_000_000_000.0 / fps);
+        nextDeadline = 0;
+    }
+    
+    /**
+     * 不限帧模式：不等待，仍然统计帧间隔
+     */
+    public void setUncapped(boolean uncapped) {
+        this.uncapped = uncapped;
+        nextDeadline = 0;
+    }
+    
+    public boolean isUncapped() {
+        return uncapped || periodNanos == 0;
+    }
+    
+    /**
+     * 设置自旋阈值（纳秒），越大越精确但 CPU 占用越高
+     */
+    public void setSpinThresholdNanos(long spinNanos) {
+        this.spinNanos = Math.max(0, spinNanos);
+    }
+    
+    /**
+     * 清空统计并以当前时间作为第一帧起点
+     */
+    public void reset() {
+        lastFrameStart = System.nanoTime();
+        nextDeadline = 0;
+        historyCount = 0;
+        historyIndex = 0;
+        frameCount = 0;
+        missedDeadlines = 0;
+    }
+    
+    /**
+     * 在一帧工作完成后调用：等待到本帧截止时间，并记录帧间隔
+     */
+    public void waitForNextFrame() {
+        long now = System.nanoTime();
+        if (!isUncapped()) {
+            if (nextDeadline == 0) {
+                nextDeadline = lastFrameStart + periodNanos;
+            }
+            if (now > nextDeadline) {
+                // 已经超时：记录并以当前时间重新对齐，不追赶
+                missedDeadlines++;
+                nextDeadline = now;
+            } else {
+                waitUntil(nextDeadline);
+                now = System.nanoTime();
+            }
+            nextDeadline += periodNanos;
+        }
+        record(now - lastFrameStart);
+        lastFrameStart = now;
+    }
+    
+    private void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > spinNanos) {
+            try {
+                long sleepNanos = remaining - spinNanos;
+                Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+    
+    private void record(long nanos) {
+        frameNanos[historyIndex] = nanos;
+        historyIndex = (historyIndex + 1) % HISTORY;
+        if (historyCount < HISTORY) historyCount++;
+        frameCount++;
+    }
+    
+    /**
+     * 最近若干帧的平均帧间隔（毫秒）
+     */
+    public double getMeanFrameMillis() {
+        if (historyCount == 0) return 0.0;
+        long sum = 0;
+        for (int i = 0; i < historyCount; i++) {
+            sum += frameNanos[i];
+        }
+        return sum / (double) historyCount / 1_000_000.0;
+    }
+    
+    /**
+     * 最近若干帧帧间隔的 99 分位（毫秒）
+     */
+    public double getP99FrameMillis() {
+        if (historyCount == 0) return 0.0;
+        long[] sorted = Arrays.copyOf(frameNanos, historyCount);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(historyCount * 0.99) - 1;
+        return sorted[Math.max(0, idx)] / 1_000_000.0;
+    }
+    
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+    
+    public long getFrameCount() {
+        return frameCount;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("frames=%d, mean=%.2fms, p99=%.2fms, missed=%d",
+            frameCount, getMeanFrameMillis(), getP99FrameMillis(), missedDeadlines);
+    }
+}
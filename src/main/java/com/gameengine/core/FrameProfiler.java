@@ -0,0 +1,197 @@
+package com.gameengine.core;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分阶段帧耗时分析器：每个阶段的耗时写入一个无锁的滚动窗口，
+ * 可按需计算 p50/p95/p99/max，也可定期追加输出到文件。
+ * 记录由游戏循环线程完成，读取/输出可在任意线程进行。
+ * 默认关闭，避免正常运行时每帧的计时开销；通过 setEnabled(true) 或 startDump 开启。
+ */
+public class FrameProfiler {
+    /**
+     * 帧内被计时的阶段
+     */
+    public enum Phase {
+        POLL_EVENTS,
+        SCENE_UPDATE,
+        INPUT_UPDATE,
+        SCENE_RENDER,
+        END_FRAME,
+        FRAME
+    }
+    
+    private static final int WINDOW = 1024;
+    
+    private final Window[] windows;
+    private volatile boolean enabled;
+    private ScheduledExecutorService dumpExecutor;
+    
+    public FrameProfiler() {
+        Phase[] phases = Phase.values();
+        windows = new Window[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            windows[i] = new Window();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    /**
+     * 记录一次阶段耗时
+     * @param startNanos 阶段开始时的 System.nanoTime()
+     */
+    public void record(Phase phase, long startNanos) {
+        windows[phase.ordinal()].add(System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * 当前窗口内某阶段的统计
+     */
+    public Stats getStats(Phase phase) {
+        return windows[phase.ordinal()].stats();
+    }
+    
+    /**
+     * 所有阶段的统计
+     */
+    public Map<Phase, Stats> getAllStats() {
+        Map<Phase, Stats> all = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            all.put(phase, getStats(phase));
+        }
+        return all;
+    }
+    
+    public void reset() {
+        for (Window window : windows) {
+            window.clear();
+        }
+    }
+    
+    /**
+     * 启动定期输出：每隔 periodMillis 把各阶段统计追加到文件，同时开启记录
+     */
+    public synchronized void startDump(String path, long periodMillis) {
+        stopDump();
+        enabled = true;
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "FrameProfilerDump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumpExecutor.scheduleAtFixedRate(() -> dump(path), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public synchronized void stopDump() {
+        if (dumpExecutor != null) {
+            dumpExecutor.shutdownNow();
+            dumpExecutor = null;
+        }
+    }
+    
+    /**
+     * 把当前统计追加到文件
+     */
+    public void dump(String path) {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path, true))) {
+            out.print(format());
+        } catch (IOException e) {
+            System.err.println("帧分析输出失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 以文本形式输出所有阶段统计，每个阶段一行
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        long now = System.currentTimeMillis();
+        for (Phase phase : Phase.values()) {
+            sb.append(now).append(' ').append(phase).append(' ').append(getStats(phase)).append('\n');
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 单个阶段在窗口内的统计（毫秒）
+     */
+    public static final class Stats {
+        public final int count;
+        public final double mean;
+        public final double p50;
+        public final double p95;
+        public final double p99;
+        public final double max;
+        
+        Stats(int count, double mean, double p50, double p95, double p99, double max) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%.3fms p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms",
+                count, mean, p50, p95, p99, max);
+        }
+    }
+    
+    /**
+     * 最近 WINDOW 个样本的环形缓冲，写入只需一次原子自增
+     */
+    private static final class Window {
+        private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+        private final AtomicLong cursor = new AtomicLong();
+        
+        void add(long nanos) {
+            long i = cursor.getAndIncrement();
+            samples.set((int) (i % WINDOW), nanos);
+        }
+        
+        void clear() {
+            cursor.set(0);
+        }
+        
+        Stats stats() {
+            int n = (int) Math.min(cursor.get(), WINDOW);
+            if (n == 0) {
+                return new Stats(0, 0, 0, 0, 0, 0);
+            }
+            long[] copy = new long[n];
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                copy[i] = samples.get(i);
+                sum += copy[i];
+            }
+            Arrays.sort(copy);
+            return new Stats(n, sum / (double) n / 1e6,
+                percentile(copy, 0.50), percentile(copy, 0.95), percentile(copy, 0.99),
+                copy[n - 1] / 1e6);
+        }
+        
+        private static double percentile(long[] sorted, double q) {
+            int idx = (int) Math.ceil(sorted.length * q) - 1;
+            return sorted[Math.max(0, idx)] / 1e6;
+        }
+    }
+}
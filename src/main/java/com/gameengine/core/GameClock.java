@@ -0,0 +1,11 @@
+package com.gameengine.core;
+
+/**
+ * 引擎时钟，提供纳秒时间戳。默认使用 System.nanoTime，
+ * 无窗口批量模拟时可注入 {@link SimulatedClock} 以与真实时间解耦。
+ */
+public interface GameClock {
+    GameClock SYSTEM = System::nanoTime;
+    
+    long nanoTime();
+}
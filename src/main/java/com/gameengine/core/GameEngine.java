@@ -1,32 +1,66 @@
 package com.gameengine.core;
 
-import com.gameengine.graphics.Renderer;
+import com.gameengine.core.FrameProfiler.Phase;
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.graphics.RenderBackend;
+import com.gameengine.graphics.RendererFactory;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
-import javax.swing.Timer;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 游戏引擎
  */
 public class GameEngine {
-    private Renderer renderer;
+    private IRenderer renderer;
     private InputManager inputManager;
-    private Scene currentScene;
-    private boolean running;
+    private GameClock clock;
+    private volatile Scene currentScene;
+    private volatile boolean running;
+    private final AtomicBoolean cleanedUp = new AtomicBoolean();
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
     private String title;
-    private Timer gameTimer;
+    // 专用游戏循环线程与高精度帧率限制器
+    private Thread loopThread;
+    private final FrameLimiter frameLimiter;
+    // 分阶段帧耗时统计；profiling 在每帧开始时从 profiler 读取，帧内保持不变
+    private final FrameProfiler profiler;
+    private boolean profiling;
+    // 引擎级共享线程池，场景与系统借用，cleanup 时关闭
+    private final WorkerPool workerPool;
+    // 固定步长模式：按固定 tick 推进模拟，渲染使用插值系数 alpha
+    private boolean fixedTimestep;
+    private float tickRate;
+    private int maxStepsPerFrame;
+    private float accumulator;
+    private float renderAlpha;
+    private int lastStepCount;
+    private long droppedSteps;
+    // 单帧时间上限，避免断点/卡顿后一次性追赶过多
+    private static final float MAX_FRAME_TIME = 0.25f;
     
     public GameEngine(int width, int height, String title) {
+        this(width, height, title, RenderBackend.SWING);
+    }
+    
+    public GameEngine(int width, int height, String title, RenderBackend backend) {
         this.title = title;
-        this.renderer = new Renderer(width, height, title);
+        this.renderer = RendererFactory.createRenderer(backend, width, height, title);
         this.inputManager = InputManager.getInstance();
+        this.clock = GameClock.SYSTEM;
         this.running = false;
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
-        this.lastTime = System.nanoTime();
+        this.lastTime = clock.nanoTime();
+        this.frameLimiter = new FrameLimiter(targetFPS);
+        this.profiler = new FrameProfiler();
+        this.workerPool = new WorkerPool();
+        this.fixedTimestep = false;
+        this.tickRate = 60.0f;
+        this.maxStepsPerFrame = 5;
+        this.renderAlpha = 1.0f;
     }
     
     /**
@@ -40,9 +74,24 @@ public class GameEngine {
      * 运行游戏引擎
      */
     public void run() {
+        if (!start()) {
+            return;
+        }
+        
+        // GL 上下文绑定在创建它的线程上，此时循环直接在调用线程运行（阻塞）；
+        // 否则启动专用循环线程，run() 立即返回
+        if (isRendererThreadBound()) {
+            loop();
+        } else {
+            loopThread = new Thread(this::loop, "GameLoop");
+            loopThread.start();
+        }
+    }
+    
+    private boolean start() {
         if (!initialize()) {
             System.err.println("游戏引擎初始化失败");
-            return;
+            return false;
         }
         
         running = true;
@@ -51,16 +100,63 @@ public class GameEngine {
         if (currentScene != null) {
             currentScene.initialize();
         }
-        
-        // 创建游戏循环定时器
-        gameTimer = new Timer((int) (1000 / targetFPS), e -> {
-            if (running) {
-                update();
-                render();
+        return true;
+    }
+    
+    /**
+     * 在调用线程上连续运行若干帧，不等待帧截止时间（无窗口批量模拟用）。
+     * 配合 {@link SimulatedClock} 时每帧的 deltaTime 恒定。
+     * @return 实际运行的帧数（引擎中途停止时可能少于 frames）
+     */
+    public int runFrames(int frames) {
+        if (!running && !start()) {
+            return 0;
+        }
+        lastTime = clock.nanoTime();
+        int count = 0;
+        while (running && count < frames) {
+            step();
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * 同步执行一帧（更新 + 渲染），时间间隔取自引擎时钟
+     */
+    public void step() {
+        profiling = profiler.isEnabled();
+        long t = profiling ? System.nanoTime() : 0L;
+        update();
+        if (running) {
+            render();
+        }
+        if (profiling) profiler.record(Phase.FRAME, t);
+    }
+    
+    /**
+     * 游戏循环：更新、渲染，然后由帧率限制器等待到下一帧截止时间；循环结束（ESC、关闭窗口、stop）后释放资源
+     */
+    private void loop() {
+        try {
+            lastTime = clock.nanoTime();
+            frameLimiter.reset();
+            while (running) {
+                try {
+                    step();
+                } catch (RuntimeException e) {
+                    // 与原 Swing Timer 行为一致：单帧异常不终止循环
+                    e.printStackTrace();
+                }
+                frameLimiter.waitForNextFrame();
             }
-        });
-        
-        gameTimer.start();
+        } finally {
+            cleanup();
+        }
+    }
+    
+    private boolean isRendererThreadBound() {
+        return renderer.isThreadBound();
     }
     
     /**
@@ -68,46 +164,94 @@ public class GameEngine {
      */
     private void update() {
         // 计算时间间隔
-        long currentTime = System.nanoTime();
+        long currentTime = clock.nanoTime();
         deltaTime = (currentTime - lastTime) / 1_000_000_000.0f; // 转换为秒
         lastTime = currentTime;
         // 先处理系统/窗口事件，使鼠标/键盘回调注册到 InputManager
+        long t = profiling ? System.nanoTime() : 0L;
         renderer.pollEvents();
+        if (profiling) profiler.record(Phase.POLL_EVENTS, t);
 
-        // 更新场景
-        if (currentScene != null) {
-            currentScene.update(deltaTime);
+        if (fixedTimestep) {
+            updateFixed();
+        } else {
+            // 更新场景
+            if (currentScene != null) {
+                t = profiling ? System.nanoTime() : 0L;
+                currentScene.update(deltaTime);
+                if (profiling) profiler.record(Phase.SCENE_UPDATE, t);
+            }
+            
+            // 在场景更新和录制更新之后再清理“刚按下”状态，这样场景能读取到刚按下事件
+            t = profiling ? System.nanoTime() : 0L;
+            inputManager.update();
+            if (profiling) profiler.record(Phase.INPUT_UPDATE, t);
         }
 
-        // 在场景更新和录制更新之后再清理“刚按下”状态，这样场景能读取到刚按下事件
-        inputManager.update();
-
         // 检查退出条件
         if (inputManager.isKeyPressed(27)) { // ESC键
             running = false;
-            gameTimer.stop();
-            renderer.cleanup();
         }
 
         // 检查窗口是否关闭
         if (renderer.shouldClose()) {
             running = false;
-            gameTimer.stop();
         }
     }
     
+    /**
+     * 固定步长更新：累积帧时间，按固定 tick 推进场景，单帧最多追赶 maxStepsPerFrame 步，
+     * 超出部分直接丢弃（防止死亡螺旋），剩余时间换算为渲染插值系数
+     */
+    private void updateFixed() {
+        float step = 1.0f / tickRate;
+        accumulator += Math.min(deltaTime, MAX_FRAME_TIME);
+        int steps = 0;
+        while (accumulator >= step && steps < maxStepsPerFrame) {
+            Scene scene = currentScene;
+            if (scene != null) {
+                long t = profiling ? System.nanoTime() : 0L;
+                scene.storePreviousTransforms();
+                scene.update(step);
+                if (profiling) profiler.record(Phase.SCENE_UPDATE, t);
+            }
+            accumulator -= step;
+            steps++;
+            // “刚按下”状态只对第一步可见
+            if (steps == 1) {
+                long t = profiling ? System.nanoTime() : 0L;
+                inputManager.update();
+                if (profiling) profiler.record(Phase.INPUT_UPDATE, t);
+            }
+        }
+        if (accumulator >= step) {
+            int dropped = (int) (accumulator / step);
+            droppedSteps += dropped;
+            accumulator -= dropped * step;
+        }
+        lastStepCount = steps;
+        renderAlpha = accumulator / step;
+    }
+    
     /**
      * 渲染游戏
      */
     private void render() {
+        if (currentScene != null) {
+            currentScene.setRenderAlpha(fixedTimestep ? renderAlpha : 1.0f);
+        }
         renderer.beginFrame();
         
         // 渲染场景
         if (currentScene != null) {
+            long t = profiling ? System.nanoTime() : 0L;
             currentScene.render();
+            if (profiling) profiler.record(Phase.SCENE_RENDER, t);
         }
         
+        long t = profiling ? System.nanoTime() : 0L;
         renderer.endFrame();
+        if (profiling) profiler.record(Phase.END_FRAME, t);
     }
     
     /**
@@ -115,6 +259,9 @@ public class GameEngine {
      */
     public void setScene(Scene scene) {
         this.currentScene = scene;
+        if (scene != null) {
+            scene.setSystemExecutor(workerPool.getExecutor());
+        }
         if (scene != null && running) {
             scene.initialize();
         }
@@ -132,28 +279,49 @@ public class GameEngine {
      */
     public void stop() {
         running = false;
-        if (gameTimer != null) {
-            gameTimer.stop();
-        }
     }
     
     /**
-     * 清理资源
+     * 清理资源；游戏循环结束时自动调用，重复调用无效
      */
-    private void cleanup() {
+    public void cleanup() {
+        if (!cleanedUp.compareAndSet(false, true)) {
+            return;
+        }
+        profiler.stopDump();
         if (currentScene != null) {
             currentScene.clear();
         }
+        workerPool.shutdown();
         renderer.cleanup();
     }
     
+    /**
+     * 获取引擎共享线程池
+     */
+    public WorkerPool getWorkerPool() {
+        return workerPool;
+    }
+    
     /**
      * 获取渲染器
      */
-    public Renderer getRenderer() {
+    public IRenderer getRenderer() {
         return renderer;
     }
     
+    /**
+     * 注入时钟（需在 run/runFrames 之前设置）
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock != null ? clock : GameClock.SYSTEM;
+        this.lastTime = this.clock.nanoTime();
+    }
+    
+    public GameClock getClock() {
+        return clock;
+    }
+    
     /**
      * 获取输入管理器
      */
@@ -173,9 +341,32 @@ public class GameEngine {
      */
     public void setTargetFPS(float fps) {
         this.targetFPS = fps;
-        if (gameTimer != null) {
-            gameTimer.setDelay((int) (1000 / fps));
-        }
+        frameLimiter.setTargetFPS(fps);
+    }
+    
+    /**
+     * 不限帧模式：循环不等待，尽可能快地运行
+     */
+    public void setUncapped(boolean uncapped) {
+        frameLimiter.setUncapped(uncapped);
+    }
+    
+    public boolean isUncapped() {
+        return frameLimiter.isUncapped();
+    }
+    
+    /**
+     * 分阶段帧耗时分析器（pollEvents / 场景更新 / 输入更新 / 场景渲染 / endFrame / 整帧）
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * 帧间隔统计（均值、p99、错过截止时间次数）
+     */
+    public FrameLimiter getFrameLimiter() {
+        return frameLimiter;
     }
     
     /**
@@ -185,6 +376,72 @@ public class GameEngine {
         return targetFPS;
     }
     
+    /**
+     * 启用/关闭固定步长模式
+     */
+    public void setFixedTimestep(boolean fixedTimestep) {
+        this.fixedTimestep = fixedTimestep;
+        this.accumulator = 0.0f;
+        this.renderAlpha = 1.0f;
+    }
+    
+    public boolean isFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    /**
+     * 设置模拟频率（每秒 tick 数）
+     */
+    public void setTickRate(float tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("tick 频率必须为正数: " + tickRate);
+        }
+        this.tickRate = tickRate;
+    }
+    
+    public float getTickRate() {
+        return tickRate;
+    }
+    
+    /**
+     * 固定步长（秒）
+     */
+    public float getFixedDeltaTime() {
+        return 1.0f / tickRate;
+    }
+    
+    /**
+     * 设置单帧最多追赶的模拟步数
+     */
+    public void setMaxStepsPerFrame(int maxStepsPerFrame) {
+        this.maxStepsPerFrame = Math.max(1, maxStepsPerFrame);
+    }
+    
+    public int getMaxStepsPerFrame() {
+        return maxStepsPerFrame;
+    }
+    
+    /**
+     * 当前渲染插值系数 [0,1)，非固定步长模式下为 1
+     */
+    public float getRenderAlpha() {
+        return fixedTimestep ? renderAlpha : 1.0f;
+    }
+    
+    /**
+     * 上一帧执行的模拟步数
+     */
+    public int getLastStepCount() {
+        return lastStepCount;
+    }
+    
+    /**
+     * 因超出追赶上限而丢弃的模拟步数累计
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+    
     /**
      * 检查引擎是否正在运行
      */
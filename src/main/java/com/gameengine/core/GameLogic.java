@@ -2,9 +2,11 @@ package com.gameengine.core;
 
 import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.RenderComponent;
 import com.gameengine.core.GameObject;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.ComponentQuery;
 import com.gameengine.scene.Scene;
 
 import java.util.List;
@@ -13,22 +15,44 @@ import java.util.List;
  * 游戏逻辑类，处理具体的游戏规则
  */
 public class GameLogic {
+    public static final long ENEMY = TagRegistry.bitOf("Enemy");
+    // 玩家按标签查找，不依赖组件查询结果集中的顺序
+    public static final long PLAYER = TagRegistry.bitOf("Player");
+    // 碰撞层：敌人之间不检测碰撞
+    public static final int PLAYER_LAYER = 1;
+    public static final int ENEMY_LAYER = 2;
+    // 玩家碰撞圆的半径（圆心在玩家位置）
+    public static final float COLLISION_RADIUS = 12.5f;
+    
     private Scene scene;
     private InputManager inputManager;
+    private final ComponentQuery bodies;
+    private final CollisionSystem collisions;
     
     public GameLogic(Scene scene) {
         this.scene = scene;
         this.inputManager = InputManager.getInstance();
+        this.bodies = scene.query(PhysicsComponent.class);
+        this.collisions = new CollisionSystem(scene);
+        collisions.getMatrix().setCollides(ENEMY_LAYER, ENEMY_LAYER, false);
+        scene.addSystem(collisions);
+        // 示例对象上的变换、渲染、物理组件按类型批量更新，GameObject.update 不再逐个调用
+        scene.addSystem(new ComponentUpdateSystem<>(TransformComponent.class, 0));
+        scene.addSystem(new ComponentUpdateSystem<>(RenderComponent.class, 0));
+        scene.addSystem(new ComponentUpdateSystem<>(PhysicsComponent.class, 0));
+    }
+    
+    public CollisionSystem getCollisions() {
+        return collisions;
     }
     
     /**
      * 处理玩家输入
      */
     public void handlePlayerInput() {
-        List<GameObject> players = scene.findGameObjectsByComponent(TransformComponent.class);
-        if (players.isEmpty()) return;
+        GameObject player = findPlayer();
+        if (player == null) return;
         
-        GameObject player = players.get(0);
         TransformComponent transform = player.getComponent(TransformComponent.class);
         PhysicsComponent physics = player.getComponent(PhysicsComponent.class);
         
@@ -67,7 +91,7 @@ public class GameLogic {
      * 更新物理系统
      */
     public void updatePhysics() {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
+        List<PhysicsComponent> physicsComponents = bodies.getComponents();
         for (PhysicsComponent physics : physicsComponents) {
             // 边界反弹
             TransformComponent transform = physics.getOwner().getComponent(TransformComponent.class);
@@ -98,27 +122,30 @@ public class GameLogic {
      * 检查碰撞
      */
     public void checkCollisions() {
-        // 直接查找玩家对象
-        List<GameObject> players = scene.findGameObjectsByComponent(TransformComponent.class);
-        if (players.isEmpty()) return;
+        GameObject player = findPlayer();
+        if (player == null) return;
         
-        GameObject player = players.get(0);
         TransformComponent playerTransform = player.getComponent(TransformComponent.class);
         if (playerTransform == null) return;
         
-        // 直接查找所有游戏对象，然后过滤出敌人
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Enemy")) {
-                TransformComponent enemyTransform = obj.getComponent(TransformComponent.class);
-                if (enemyTransform != null) {
-                    float distance = playerTransform.getPosition().distance(enemyTransform.getPosition());
-                    if (distance < 25) {
-                        // 碰撞！重置玩家位置
-                        playerTransform.setPosition(new Vector2(400, 300));
-                        break;
-                    }
-                }
+        // 只处理碰撞系统在本步给出的接触事件
+        List<ContactEvent> events = collisions.getEvents();
+        for (int i = 0, n = events.size(); i < n; i++) {
+            ContactEvent event = events.get(i);
+            if (event.getType() != ContactEvent.Type.EXIT && event.involves(player)
+                    && event.other(player).hasAnyTag(ENEMY)) {
+                // 碰撞！重置玩家位置
+                playerTransform.teleport(400, 300);
+                break;
             }
         }
     }
+    
+    /**
+     * 带 PLAYER 标签的对象，没有时返回 null
+     */
+    private GameObject findPlayer() {
+        List<GameObject> players = scene.getGameObjectsWithTag(PLAYER);
+        return players.isEmpty() ? null : players.get(0);
+    }
 }
@@ -1,6 +1,7 @@
 package com.gameengine.core;
 
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
 import java.util.*;
 
 /**
@@ -8,13 +9,28 @@ import java.util.*;
  */
 public class GameObject {
     protected boolean active;
+    // 名称仅作调试/显示用途，实体身份由 Scene 分配的分代 id 表示
     protected String name;
+    private int id = EntityId.NONE;
     protected final List<Component<?>> components;
+    // 按组件类型 id 索引的槽位，见 ComponentRegistry
+    private Component<?>[] componentSlots;
+    // 所属场景，由 Scene 在对象加入/移出时维护
+    private Scene scene;
+    // 所属对象池（非池化对象为 null），见 GameObjectPool
+    private GameObjectPool pool;
+    // 标签位掩码（见 TagRegistry）与所在层（0..63），按类别过滤用按位与代替名称比较
+    private long tags;
+    private int layer;
+    // 父子层级：子对象的 Transform 相对父对象，世界变换由 Scene 统一传播
+    private GameObject parent;
+    private List<GameObject> children;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
         this.components = new ArrayList<>();
+        this.componentSlots = new Component<?>[8];
     }
     
     public GameObject(String name) {
@@ -44,15 +60,19 @@ public class GameObject {
     }
     
     /**
-     * 销毁游戏对象
+     * 销毁游戏对象。池化对象只失活并保留组件，由 Scene 移除时归还到池中
      */
     public void destroy() {
         this.active = false;
+        if (pool != null) {
+            return;
+        }
         // 销毁所有组件
         for (Component<?> component : components) {
             component.destroy();
         }
         components.clear();
+        Arrays.fill(componentSlots, null);
     }
     
     /**
@@ -61,7 +81,16 @@ public class GameObject {
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        indexComponent(component);
+        for (Component<?> sibling : components) {
+            if (sibling != component) {
+                sibling.onComponentAdded(component);
+            }
+        }
         component.initialize();
+        if (scene != null) {
+            scene.onComponentAdded(this, component);
+        }
         return component;
     }
     
@@ -70,32 +99,51 @@ public class GameObject {
      */
     @SuppressWarnings("unchecked")
     public <T extends Component<T>> T getComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
-            }
-        }
-        return null;
+        return (T) getComponent(ComponentRegistry.idOf(componentType));
+    }
+    
+    /**
+     * 按组件类型 id 获取组件
+     */
+    public Component<?> getComponent(int typeId) {
+        return typeId < componentSlots.length ? componentSlots[typeId] : null;
     }
     
     /**
      * 检查是否有指定类型的组件
      */
     public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
+        return getComponent(ComponentRegistry.idOf(componentType)) != null;
+    }
+    
+    /**
+     * 将组件登记到其类型及所有父类型的槽位上，保持与 isInstance 查找一致的语义：
+     * 同一类型先添加的组件优先
+     */
+    private void indexComponent(Component<?> component) {
+        for (Class<?> type = component.getClass(); type != Component.class && type != null; type = type.getSuperclass()) {
+            int id = (type == component.getClass()) ? component.getTypeId() : ComponentRegistry.idOf(type);
+            if (id >= componentSlots.length) {
+                componentSlots = Arrays.copyOf(componentSlots, Math.max(id + 1, componentSlots.length * 2));
+            }
+            if (componentSlots[id] == null) {
+                componentSlots[id] = component;
             }
         }
-        return false;
     }
     
     /**
      * 更新所有组件
      */
     public void updateComponents(float deltaTime) {
+        Scene s = scene;
         for (Component<?> component : components) {
             if (component.isEnabled()) {
+                // 由场景系统按类型批量更新的组件在这里跳过
+                int typeId = component.getTypeId();
+                if (s != null && s.isBatchedType(typeId) && componentSlots[typeId] == component) {
+                    continue;
+                }
                 component.update(deltaTime);
             }
         }
@@ -122,11 +170,172 @@ public class GameObject {
         this.active = active;
     }
     
+    /**
+     * 分代实体 id（见 {@link EntityId}），未加入场景时为 {@link EntityId#NONE}
+     */
+    public int getId() {
+        return id;
+    }
+    
+    /**
+     * 由 Scene 在分配/回收实体 id 时调用
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    public Scene getScene() {
+        return scene;
+    }
+    
+    /**
+     * 由 Scene 在对象加入/移出场景时调用
+     */
+    public void setScene(Scene scene) {
+        this.scene = scene;
+    }
+    
+    public GameObjectPool getPool() {
+        return pool;
+    }
+    
+    /**
+     * 由 GameObjectPool 在创建/丢弃池化对象时调用
+     */
+    public void setPool(GameObjectPool pool) {
+        this.pool = pool;
+    }
+    
     public String getName() {
         return name;
     }
     
+    /**
+     * 标签位掩码
+     */
+    public long getTags() {
+        return tags;
+    }
+    
+    /**
+     * 整体替换标签，所在场景的标签集合同步更新
+     */
+    public void setTags(long tags) {
+        long old = this.tags;
+        if (old == tags) return;
+        this.tags = tags;
+        if (scene != null) {
+            scene.onTagsChanged(this, old);
+        }
+    }
+    
+    public void addTags(long mask) {
+        setTags(tags | mask);
+    }
+    
+    public void removeTags(long mask) {
+        setTags(tags & ~mask);
+    }
+    
+    /**
+     * 是否拥有 mask 中的任一标签
+     */
+    public boolean hasAnyTag(long mask) {
+        return (tags & mask) != 0L;
+    }
+    
+    /**
+     * 是否拥有 mask 中的全部标签
+     */
+    public boolean hasAllTags(long mask) {
+        return (tags & mask) == mask;
+    }
+    
+    public int getLayer() {
+        return layer;
+    }
+    
+    public void setLayer(int layer) {
+        if (layer < 0 || layer >= 64) {
+            throw new IllegalArgumentException("层下标超出范围: " + layer);
+        }
+        this.layer = layer;
+    }
+    
+    /**
+     * 所在层对应的位，用于与层掩码做按位与
+     */
+    public long getLayerMask() {
+        return 1L << layer;
+    }
+    
     public void setName(String name) {
         this.name = name;
     }
+    
+    public GameObject getParent() {
+        return parent;
+    }
+    
+    /**
+     * 子对象（只读）
+     */
+    public List<GameObject> getChildren() {
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+    
+    public int getChildCount() {
+        return children != null ? children.size() : 0;
+    }
+    
+    /**
+     * 挂接子对象（会先从原父对象上摘下）。本对象已在场景中时，
+     * 尚未加入场景的子对象随之加入；父对象移出场景时子树一并移出
+     */
+    public void addChild(GameObject child) {
+        for (GameObject p = this; p != null; p = p.parent) {
+            if (p == child) {
+                throw new IllegalArgumentException("不能把对象挂到自身或其子孙下: " + child.getName());
+            }
+        }
+        if (child.parent == this) return;
+        if (child.parent != null) {
+            child.parent.removeChild(child);
+        }
+        child.parent = this;
+        if (children == null) {
+            children = new ArrayList<>(4);
+        }
+        children.add(child);
+        if (scene != null) {
+            scene.onHierarchyChanged();
+            if (child.scene == null) {
+                scene.addGameObject(child);
+            }
+        }
+    }
+    
+    /**
+     * 摘下子对象，子对象保留在场景中成为根对象
+     */
+    public boolean removeChild(GameObject child) {
+        if (child.parent != this || !children.remove(child)) {
+            return false;
+        }
+        child.parent = null;
+        if (scene != null) {
+            scene.onHierarchyChanged();
+        }
+        return true;
+    }
+    
+    /**
+     * 是否为 other 的子孙
+     */
+    public boolean isDescendantOf(GameObject other) {
+        for (GameObject p = parent; p != null; p = p.parent) {
+            if (p == other) return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.gameengine.core;
+
+import com.gameengine.components.TransformComponent;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * GameObject 对象池。池中对象连同其组件一起复用：
+ * 池化对象调用 destroy() 只会失活，Scene 在移除该对象时自动把它归还到池中；
+ * 重新取出的对象已恢复为活动状态、插值起点已清除，其余状态由重置回调负责。
+ */
+public class GameObjectPool extends ObjectPool<GameObject> {
+    
+    public GameObjectPool(Supplier<? extends GameObject> factory, Consumer<? super GameObject> reset, int maxSize) {
+        super(factory, obj -> {
+            if (reset != null) {
+                reset.accept(obj);
+            }
+            obj.setActive(true);
+        }, maxSize);
+    }
+    
+    @Override
+    public GameObject acquire() {
+        GameObject obj = super.acquire();
+        // 复用对象的上一 tick 位置属于它的上一次使用
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform != null) {
+            transform.resetInterpolation();
+        }
+        return obj;
+    }
+    
+    @Override
+    protected void onCreate(GameObject obj) {
+        obj.setPool(this);
+    }
+    
+    @Override
+    protected void onDiscard(GameObject obj) {
+        // 池已满：解除关联并真正销毁
+        obj.setPool(null);
+        obj.destroy();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.Scene;
+
+/**
+ * 场景系统：注册到 Scene 后每帧按声明的顺序执行一次，
+ * 在一个紧凑循环中批量处理同一类组件（而不是逐对象逐组件地虚调用）。
+ * 声明读/写的组件类型后，场景可以把互不冲突的系统并行执行。
+ */
+public interface GameSystem {
+    /**
+     * 执行顺序，数值小的先执行；相同顺序按注册先后执行
+     */
+    default int getOrder() {
+        return 0;
+    }
+    
+    /**
+     * 注册到场景时回调
+     */
+    default void onAttach(Scene scene) {
+    }
+    
+    /**
+     * 从场景移除时回调
+     */
+    default void onDetach(Scene scene) {
+    }
+    
+    /**
+     * 本系统读取的组件类型；返回 null 表示未声明（与所有系统冲突，独占执行）
+     */
+    default Class<?>[] getReads() {
+        return null;
+    }
+    
+    /**
+     * 本系统写入的组件类型；返回 null 表示未声明
+     */
+    default Class<?>[] getWrites() {
+        return null;
+    }
+    
+    void update(float deltaTime);
+}
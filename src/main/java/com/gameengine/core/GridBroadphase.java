@@ -0,0 +1,109 @@
+package com.gameengine.core;
+
+import com.gameengine.components.Collider;
+import com.gameengine.scene.SpatialHash;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 均匀网格宽相位：以 SpatialHash 登记碰撞体，每个代理查询自身 AABB 覆盖的格子得到候选对。
+ * 对象分布均匀、尺寸接近格子尺寸时效果最好
+ */
+public final class GridBroadphase implements Broadphase {
+    private final SpatialHash<Collider> hash;
+    // 句柄 -> 碰撞体，遍历全部代理用
+    private Collider[] members = new Collider[64];
+    private int handleLimit;
+    // 醒着的代理（紧凑数组）与各代理在其中的位置（休眠或未登记为 -1）
+    private int[] awake = new int[64];
+    private int[] awakeIndex = new int[64];
+    private int awakeCount;
+    private final List<Collider> candidates = new ArrayList<>();
+    
+    public GridBroadphase(float cellSize) {
+        this.hash = new SpatialHash<>(cellSize);
+    }
+    
+    @Override
+    public int add(Collider collider) {
+        int proxy = hash.insert(collider, collider.getMinX(), collider.getMinY(), collider.getMaxX(), collider.getMaxY());
+        if (proxy >= members.length) {
+            int capacity = Math.max(proxy + 1, members.length * 2);
+            members = Arrays.copyOf(members, capacity);
+            awake = Arrays.copyOf(awake, capacity);
+            awakeIndex = Arrays.copyOf(awakeIndex, capacity);
+        }
+        members[proxy] = collider;
+        handleLimit = Math.max(handleLimit, proxy + 1);
+        awakeIndex[proxy] = -1;
+        setSleeping(proxy, false);
+        return proxy;
+    }
+    
+    @Override
+    public void setSleeping(int proxy, boolean sleeping) {
+        int index = awakeIndex[proxy];
+        if (!sleeping && index < 0) {
+            awakeIndex[proxy] = awakeCount;
+            awake[awakeCount++] = proxy;
+        } else if (sleeping && index >= 0) {
+            // 与末尾交换后删除
+            int last = awake[--awakeCount];
+            awake[index] = last;
+            awakeIndex[last] = index;
+            awakeIndex[proxy] = -1;
+        }
+    }
+    
+    @Override
+    public void update(int proxy, Collider collider) {
+        hash.update(proxy, collider.getMinX(), collider.getMinY(), collider.getMaxX(), collider.getMaxY());
+    }
+    
+    @Override
+    public void remove(int proxy) {
+        setSleeping(proxy, true);
+        hash.remove(proxy);
+        members[proxy] = null;
+    }
+    
+    /**
+     * 只查询醒着的代理覆盖的格子，休眠物体很多时开销只与醒着的数量有关
+     */
+    @Override
+    public void findPairs(PairBuffer out) {
+        for (int k = 0; k < awakeCount; k++) {
+            int proxy = awake[k];
+            Collider a = members[proxy];
+            candidates.clear();
+            hash.queryRegion(a.getMinX(), a.getMinY(), a.getMaxX(), a.getMaxY(), candidates);
+            for (int i = 0, n = candidates.size(); i < n; i++) {
+                int other = candidates.get(i).getProxy();
+                // 休眠的一方不会出发查找；两个醒着的代理只由句柄较小的一方输出
+                if (awakeIndex[other] < 0 || other > proxy) {
+                    out.add(a, candidates.get(i));
+                }
+            }
+        }
+        candidates.clear();
+    }
+    
+    @Override
+    public void query(float minX, float minY, float maxX, float maxY, List<Collider> out) {
+        hash.queryRegion(minX, minY, maxX, maxY, out);
+    }
+    
+    @Override
+    public void clear() {
+        hash.clear();
+        Arrays.fill(members, 0, handleLimit, null);
+        handleLimit = 0;
+        awakeCount = 0;
+    }
+    
+    @Override
+    public String name() {
+        return "grid(" + hash.getCellSize() + ")";
+    }
+}
@@ -0,0 +1,148 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 通用对象池：取出时优先复用空闲实例，归还时调用重置回调后放回空闲栈。
+ * 池本身不做同步，只应在游戏主线程使用。
+ * @param <T> 池化的对象类型
+ */
+public class ObjectPool<T> {
+    private final Supplier<? extends T> factory;
+    private final Consumer<? super T> reset;
+    private final int maxSize;
+    private Object[] free;
+    private int freeCount;
+    // 统计信息
+    private long hits;
+    private long misses;
+    private long released;
+    private long discarded;
+    
+    /**
+     * @param factory 空闲栈为空时创建新实例
+     * @param reset 归还时重置实例状态，可为 null
+     * @param maxSize 空闲栈容量上限，超出后归还的实例直接丢弃
+     */
+    public ObjectPool(Supplier<? extends T> factory, Consumer<? super T> reset, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("对象池容量必须为正数: " + maxSize);
+        }
+        this.factory = factory;
+        this.reset = reset;
+        this.maxSize = maxSize;
+        this.free = new Object[Math.min(maxSize, 16)];
+    }
+    
+    /**
+     * 取出一个实例，命中空闲栈计为 hit，新建计为 miss
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (freeCount > 0) {
+            T obj = (T) free[--freeCount];
+            free[freeCount] = null;
+            hits++;
+            return obj;
+        }
+        misses++;
+        T obj = factory.get();
+        onCreate(obj);
+        return obj;
+    }
+    
+    /**
+     * 归还实例
+     * @return 是否放回了空闲栈（池已满时返回 false，实例被丢弃）
+     */
+    public boolean release(T obj) {
+        if (obj == null) return false;
+        released++;
+        if (reset != null) {
+            reset.accept(obj);
+        }
+        if (freeCount == maxSize) {
+            discarded++;
+            onDiscard(obj);
+            return false;
+        }
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.min(maxSize, free.length * 2));
+        }
+        free[freeCount++] = obj;
+        return true;
+    }
+    
+    /**
+     * 预先创建实例填充空闲栈（不计入 miss）
+     */
+    public void prewarm(int count) {
+        while (count-- > 0 && freeCount < maxSize) {
+            T obj = factory.get();
+            onCreate(obj);
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, Math.min(maxSize, free.length * 2));
+            }
+            free[freeCount++] = obj;
+        }
+    }
+    
+    /**
+     * 新实例创建后回调，子类可借此关联池
+     */
+    protected void onCreate(T obj) {
+    }
+    
+    /**
+     * 池已满、实例被丢弃时回调
+     */
+    protected void onDiscard(T obj) {
+    }
+    
+    public int getFreeCount() {
+        return freeCount;
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getReleased() {
+        return released;
+    }
+    
+    public long getDiscarded() {
+        return discarded;
+    }
+    
+    /**
+     * 命中率（尚无取出记录时为 0）
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+    
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        released = 0;
+        discarded = 0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRate=%.1f%%, released=%d, discarded=%d, free=%d/%d",
+            hits, misses, getHitRate() * 100.0, released, discarded, freeCount, maxSize);
+    }
+}
@@ -0,0 +1,44 @@
+package com.gameengine.core;
+
+import com.gameengine.components.Collider;
+import java.util.Arrays;
+
+/**
+ * 宽相位输出的候选对，按对存放在两个并行数组中，逐步清空复用
+ */
+public final class PairBuffer {
+    private Collider[] first = new Collider[64];
+    private Collider[] second = new Collider[64];
+    private int size;
+    
+    public void add(Collider a, Collider b) {
+        if (size == first.length) {
+            first = Arrays.copyOf(first, size * 2);
+            second = Arrays.copyOf(second, size * 2);
+        }
+        first[size] = a;
+        second[size] = b;
+        size++;
+    }
+    
+    public Collider getFirst(int index) {
+        return first[index];
+    }
+    
+    public Collider getSecond(int index) {
+        return second[index];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 清空（同时释放引用，避免持有已离开场景的碰撞体）
+     */
+    public void clear() {
+        Arrays.fill(first, 0, size, null);
+        Arrays.fill(second, 0, size, null);
+        size = 0;
+    }
+}
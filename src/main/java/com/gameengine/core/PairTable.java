@@ -0,0 +1,91 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+/**
+ * long 键到 int 值的开放寻址表（线性探测，删除时回移后继元素，不留墓碑），
+ * 供 CollisionSystem 按碰撞体对查找接触记录
+ */
+final class PairTable {
+    private long[] keys = new long[32];
+    private int[] values = new int[32];
+    private boolean[] used = new boolean[32];
+    private int size;
+    
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return -1;
+    }
+    
+    void put(long key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+    
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (!used[i]) return;
+        used[i] = false;
+        size--;
+        // 回移同一探测链上的后继元素
+        for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                used[i] = true;
+                used[j] = false;
+                i = j;
+            }
+        }
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+    
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], oldValues[i]);
+        }
+    }
+    
+    static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -1,14 +1,24 @@
 package com.gameengine.core;
 
 import com.gameengine.graphics.IRenderer;
+import com.gameengine.math.BatchMath;
+import com.gameengine.math.FastMath;
 import com.gameengine.math.Vector2;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.Random;
 
-public class ParticleSystem {
-    private List<Particle> particles;
+public class ParticleSystem implements GameSystem {
+    // 在物理之后执行，发射位置可读取本帧已积分的位置
+    public static final int ORDER = 200;
+    
+    // 每次更新的速度衰减系数
+    private static final float DAMPING = 0.98f;
+    
+    // 粒子以结构数组存放，积分交给 BatchMath 批量处理
+    private float[] px, py, vx, vy;
+    private float[] life, maxLife, size;
+    private float[] pr, pg, pb;
+    private int count;
     private Random random;
     private IRenderer renderer;
     private float spawnRate;
@@ -18,65 +28,6 @@ public class ParticleSystem {
     
     private Config config;
     
-    private static class Particle {
-        private Vector2 position;
-        private Vector2 velocity;
-        private float life;
-        private float maxLife;
-        private float size;
-        private float r, g, b, a;
-        
-        public Particle(Vector2 position, Vector2 velocity, float life, float size, float r, float g, float b) {
-            this.position = new Vector2(position);
-            this.velocity = new Vector2(velocity);
-            this.maxLife = life;
-            this.life = life;
-            this.size = size;
-            this.r = r;
-            this.g = g;
-            this.b = b;
-            this.a = 1.0f;
-        }
-        
-        public void update(float deltaTime) {
-            position = position.add(velocity.multiply(deltaTime));
-            life -= deltaTime;
-            
-            if (life > 0) {
-                a = life / maxLife;
-                velocity = velocity.multiply(0.98f);
-            }
-        }
-        
-        public boolean isAlive() {
-            return life > 0;
-        }
-        
-        public Vector2 getPosition() {
-            return new Vector2(position);
-        }
-        
-        public float getSize() {
-            return size;
-        }
-        
-        public float getR() {
-            return r;
-        }
-        
-        public float getG() {
-            return g;
-        }
-        
-        public float getB() {
-            return b;
-        }
-        
-        public float getA() {
-            return a;
-        }
-    }
-    
     public static class Config {
         public float spawnRate = 0.015f;
         public int initialCount = 30;
@@ -145,7 +96,7 @@ public class ParticleSystem {
     }
     
     public ParticleSystem(IRenderer renderer, Vector2 position, Config config) {
-        this.particles = new ArrayList<>();
+        allocate(64);
         this.random = new Random();
         this.renderer = renderer;
         this.position = new Vector2(position);
@@ -169,6 +120,25 @@ public class ParticleSystem {
         }
     }
     
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+    
+    /**
+     * 粒子只读写自身状态，不访问任何组件，可与其他系统并行
+     */
+    @Override
+    public Class<?>[] getReads() {
+        return new Class<?>[0];
+    }
+    
+    @Override
+    public Class<?>[] getWrites() {
+        return new Class<?>[0];
+    }
+    
+    @Override
     public void update(float deltaTime) {
         if (active) {
             timeSinceLastSpawn += deltaTime;
@@ -178,12 +148,13 @@ public class ParticleSystem {
             }
         }
         
-        Iterator<Particle> iterator = particles.iterator();
-        while (iterator.hasNext()) {
-            Particle particle = iterator.next();
-            particle.update(deltaTime);
-            if (!particle.isAlive()) {
-                iterator.remove();
+        int n = count;
+        BatchMath.integrateDamped(px, py, vx, vy, DAMPING, deltaTime, 0, n);
+        BatchMath.addScalar(life, -deltaTime, 0, n);
+        // 死亡粒子与末尾交换删除
+        for (int i = n - 1; i >= 0; i--) {
+            if (life[i] <= 0) {
+                removeAt(i);
             }
         }
     }
@@ -191,12 +162,10 @@ public class ParticleSystem {
     private void spawnParticle() {
         if (position == null) return;
         
-        float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+        float angle = random.nextFloat() * FastMath.TWO_PI;
         float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
-        Vector2 velocity = new Vector2(
-            (float) (Math.cos(angle) * speed),
-            (float) (Math.sin(angle) * speed)
-        );
+        float velX = FastMath.cos(angle) * speed;
+        float velY = FastMath.sin(angle) * speed;
         
         float life = config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin);
         float size = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
@@ -212,8 +181,7 @@ public class ParticleSystem {
             g = config.g + random.nextFloat() * 0.2f;
         }
         
-        Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
-        particles.add(particle);
+        add(position.x, position.y, velX, velY, life, size, r, g, b);
     }
     
     public void setSpawnRate(float rate) {
@@ -223,22 +191,22 @@ public class ParticleSystem {
     public void render() {
         if (renderer == null) return;
         
-        for (Particle particle : particles) {
-            Vector2 pos = particle.getPosition();
-            float size = particle.getSize();
+        float maxW = renderer.getWidth();
+        float maxH = renderer.getHeight();
+        for (int i = 0, n = count; i < n; i++) {
+            float x = px[i];
+            float y = py[i];
             
-            float r = Math.min(1.0f, Math.max(0.0f, particle.getR()));
-            float g = Math.min(1.0f, Math.max(0.0f, particle.getG()));
-            float b = Math.min(1.0f, Math.max(0.0f, particle.getB()));
-            float a = Math.min(1.0f, Math.max(0.0f, particle.getA())) * config.opacityMultiplier;
+            float r = Math.min(1.0f, Math.max(0.0f, pr[i]));
+            float g = Math.min(1.0f, Math.max(0.0f, pg[i]));
+            float b = Math.min(1.0f, Math.max(0.0f, pb[i]));
+            float a = Math.min(1.0f, Math.max(0.0f, life[i] / maxLife[i])) * config.opacityMultiplier;
             
-            float maxW = renderer != null ? renderer.getWidth() : 1920;
-            float maxH = renderer != null ? renderer.getHeight() : 1080;
-            if (a > 0.01f && pos.x >= -50 && pos.x <= maxW + 50 && pos.y >= -50 && pos.y <= maxH + 50) {
-                float renderSize = Math.max(config.minRenderSize, size * a);
+            if (a > 0.01f && x >= -50 && x <= maxW + 50 && y >= -50 && y <= maxH + 50) {
+                float renderSize = Math.max(config.minRenderSize, size[i] * a);
                 try {
                     renderer.drawRect(
-                        pos.x - renderSize * 0.5f, pos.y - renderSize * 0.5f, 
+                        x - renderSize * 0.5f, y - renderSize * 0.5f, 
                         renderSize, renderSize,
                         r, g, b, a
                     );
@@ -250,12 +218,10 @@ public class ParticleSystem {
     
     public void burst(int count) {
         for (int i = 0; i < count; i++) {
-            float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+            float angle = random.nextFloat() * FastMath.TWO_PI;
             float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
-            Vector2 velocity = new Vector2(
-                (float) (Math.cos(angle) * speed),
-                (float) (Math.sin(angle) * speed)
-            );
+            float velX = FastMath.cos(angle) * speed;
+            float velY = FastMath.sin(angle) * speed;
             
             float life = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
             float size = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
@@ -264,16 +230,64 @@ public class ParticleSystem {
             float g = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
             float b = config.burstB;
             
-            Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
-            particles.add(particle);
+            add(position.x, position.y, velX, velY, life, size, r, g, b);
         }
     }
     
     public int getParticleCount() {
-        return particles.size();
+        return count;
     }
     
     public void clear() {
-        particles.clear();
+        count = 0;
+    }
+    
+    private void add(float x, float y, float velX, float velY, float lifetime, float particleSize,
+                     float r, float g, float b) {
+        if (count == px.length) {
+            grow(count * 2);
+        }
+        int i = count++;
+        px[i] = x;
+        py[i] = y;
+        vx[i] = velX;
+        vy[i] = velY;
+        life[i] = lifetime;
+        maxLife[i] = lifetime;
+        size[i] = particleSize;
+        pr[i] = r;
+        pg[i] = g;
+        pb[i] = b;
+    }
+    
+    private void removeAt(int i) {
+        int last = --count;
+        if (i != last) {
+            px[i] = px[last];
+            py[i] = py[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            life[i] = life[last];
+            maxLife[i] = maxLife[last];
+            size[i] = size[last];
+            pr[i] = pr[last];
+            pg[i] = pg[last];
+            pb[i] = pb[last];
+        }
+    }
+    
+    private void allocate(int capacity) {
+        px = new float[capacity]; py = new float[capacity];
+        vx = new float[capacity]; vy = new float[capacity];
+        life = new float[capacity]; maxLife = new float[capacity]; size = new float[capacity];
+        pr = new float[capacity]; pg = new float[capacity]; pb = new float[capacity];
+    }
+    
+    private void grow(int capacity) {
+        px = Arrays.copyOf(px, capacity); py = Arrays.copyOf(py, capacity);
+        vx = Arrays.copyOf(vx, capacity); vy = Arrays.copyOf(vy, capacity);
+        life = Arrays.copyOf(life, capacity); maxLife = Arrays.copyOf(maxLife, capacity);
+        size = Arrays.copyOf(size, capacity);
+        pr = Arrays.copyOf(pr, capacity); pg = Arrays.copyOf(pg, capacity); pb = Arrays.copyOf(pb, capacity);
     }
 }
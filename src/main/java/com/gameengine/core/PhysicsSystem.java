@@ -1,22 +1,65 @@
 package com.gameengine.core;
 
+import com.gameengine.components.Collider;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
+import com.gameengine.math.BatchMath;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.ComponentQuery;
 import com.gameengine.scene.Scene;
 
-import java.util.List;
 import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-public class PhysicsSystem {
+public class PhysicsSystem implements GameSystem {
+    // 在默认顺序（0）的组件更新之后执行
+    public static final int ORDER = 100;
+    // 刚体数低于该值时在调用线程内直接更新，不做 fork/join
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+    // 每个分区至少处理的刚体数
+    public static final int DEFAULT_MIN_BATCH_SIZE = 64;
+    // 没有碰撞体的刚体按该边长的正方形（左上角为位置）处理边界；块存储模式统一使用该尺寸
+    public static final float DEFAULT_BODY_SIZE = 15;
+    // 连续检测命中后沿运动方向多推进的距离，使步末的离散窄相位能检测到重叠
+    private static final float CCD_SKIN = 0.01f;
+    // 速度持续低于休眠阈值多久（秒）后休眠
+    public static final float DEFAULT_SLEEP_DELAY = 0.5f;
+    
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    private final ComponentQuery bodies;
     private int screenWidth;
     private int screenHeight;
+    // 原型存储模式：刚体数据放在 BodyChunk 的 float[] 列中顺序扫描
+    private boolean archetypeStorage;
+    private final BodyChunk chunk = new BodyChunk();
+    private int syncFrame;
+    // 分区任务预先分配、逐帧 reinitialize 复用，每帧不再创建 Future 列表与 lambda
+    private PartitionTask[] partitions = new PartitionTask[0];
+    private int partitionCount;
+    private final RootTask root = new RootTask();
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private int minBatchSize = DEFAULT_MIN_BATCH_SIZE;
+    private final FrameStats frameStats = new FrameStats();
+    // 本帧参数，由分区任务读取（fork/join 保证可见性）
+    private List<PhysicsComponent> frameBodies;
+    private boolean frameChunk;
+    private float frameDelta;
+    // 连续碰撞检测：由碰撞系统提供宽相位与层矩阵；高速刚体的起点由各分区在积分前记录
+    private CollisionSystem collisions;
+    private boolean frameSweeps;
+    private final List<Collider> sweepCandidates = new ArrayList<>();
+    private int sweepHits;
+    // 休眠：节点为本帧醒着的刚体（由各分区收集）以及与它们接触的休眠刚体，按接触用并查集分组（岛）
+    private float sleepDelay = DEFAULT_SLEEP_DELAY;
+    private PhysicsComponent[] islandBodies = new PhysicsComponent[64];
+    private boolean[] bodyReady = new boolean[64];
+    private int[] islandParent = new int[64];
+    private boolean[] islandReady = new boolean[64];
+    private int islandCount;
     
     public PhysicsSystem(Scene scene) {
         this(scene, 1920, 1080);
@@ -24,121 +67,651 @@ public class PhysicsSystem {
     
     public PhysicsSystem(Scene scene, int screenWidth, int screenHeight) {
         this.scene = scene;
+        this.bodies = scene.query(PhysicsComponent.class);
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
     }
     
+    /**
+     * 启用/关闭原型（SoA）存储模式，关闭时组件恢复为独立存储
+     */
+    public void setArchetypeStorage(boolean enabled) {
+        if (this.archetypeStorage == enabled) return;
+        this.archetypeStorage = enabled;
+        if (!enabled) {
+            chunk.clear();
+        }
+    }
+    
+    public boolean isArchetypeStorage() {
+        return archetypeStorage;
+    }
+    
+    public BodyChunk getChunk() {
+        return chunk;
+    }
+    
+    /**
+     * 刚体数达到该值才并行更新，低于时在调用线程内直接执行
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("并行阈值必须为正数: " + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    /**
+     * 每个分区至少处理的刚体数，避免分区过细时调度开销超过计算本身
+     */
+    public void setMinBatchSize(int minBatchSize) {
+        if (minBatchSize < 1) {
+            throw new IllegalArgumentException("分区大小必须为正数: " + minBatchSize);
+        }
+        this.minBatchSize = minBatchSize;
+    }
+    
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+    
+    /**
+     * 刚体速度持续低于其休眠阈值达到该时长后休眠
+     */
+    public void setSleepDelay(float sleepDelay) {
+        if (sleepDelay < 0) {
+            throw new IllegalArgumentException("休眠延迟不能为负数: " + sleepDelay);
+        }
+        this.sleepDelay = sleepDelay;
+    }
+    
+    public float getSleepDelay() {
+        return sleepDelay;
+    }
+    
+    /**
+     * 为标记为 continuous 的刚体启用连续碰撞检测（需与该碰撞系统注册在同一场景），传 null 关闭
+     */
+    public void setCollisionSystem(CollisionSystem collisions) {
+        this.collisions = collisions;
+    }
+    
+    public CollisionSystem getCollisionSystem() {
+        return collisions;
+    }
+    
+    /**
+     * 最近一次 update 中连续检测截停的刚体数
+     */
+    public int getSweepHits() {
+        return sweepHits;
+    }
+    
+    /**
+     * 最近一次 update 的分区与耗时统计
+     */
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+    
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+    
+    @Override
+    public Class<?>[] getReads() {
+        return new Class<?>[] { PhysicsComponent.class, TransformComponent.class, Collider.class };
+    }
+    
+    // 连续检测会刷新碰撞体的 AABB
+    @Override
+    public Class<?>[] getWrites() {
+        return new Class<?>[] { PhysicsComponent.class, TransformComponent.class, Collider.class };
+    }
+    
+    @Override
     public void update(float deltaTime) {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
-        if (physicsComponents.isEmpty()) return;
-        
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
-                    }
+        List<PhysicsComponent> physicsComponents = bodies.getComponents();
+        int count;
+        if (archetypeStorage) {
+            syncChunk(physicsComponents);
+            count = chunk.size();
+        } else {
+            count = physicsComponents.size();
+        }
+        frameBodies = physicsComponents;
+        frameChunk = archetypeStorage;
+        frameDelta = deltaTime;
+        frameSweeps = collisions != null;
+        sweepHits = 0;
+        try {
+            runPartitions(count);
+        } finally {
+            frameBodies = null;
+        }
+        if (frameSweeps) {
+            for (int i = 0; i < partitionCount; i++) {
+                resolveSweeps(partitions[i]);
+            }
+        }
+        updateSleep();
+    }
+    
+    /**
+     * 休眠判定：速度持续低于阈值达到 sleepDelay 的刚体可以休眠。
+     * 只处理本帧醒着的刚体与接触：设置了碰撞系统时按接触把刚体连成岛（与醒着的刚体接触的休眠刚体也加入），
+     * 岛内全部可休眠才一起休眠，否则唤醒岛内休眠的刚体；没有刚体的碰撞体（静态物体）不连接岛。
+     * 全部休眠时每帧只剩分区里的标志检查与接触表遍历
+     */
+    private void updateSleep() {
+        islandCount = 0;
+        int sleeping = 0;
+        for (int p = 0; p < partitionCount; p++) {
+            PartitionTask partition = partitions[p];
+            for (int k = 0; k < partition.awakeCount; k++) {
+                addIslandBody(partition.awake[k], partition.ready[k]);
+                partition.awake[k] = null;
+            }
+            sleeping += partition.sleepingCount;
+        }
+        if (collisions != null) {
+            for (int i = 0, contacts = collisions.getContactCount(); i < contacts; i++) {
+                PhysicsComponent first = collisions.getContactFirst(i).getBody();
+                PhysicsComponent second = collisions.getContactSecond(i).getBody();
+                if (first == null || second == null || (first.isSleeping() && second.isSleeping())) continue;
+                int a = islandOf(first);
+                int b = islandOf(second);
+                if (a >= 0 && b >= 0) {
+                    islandParent[findIsland(a)] = findIsland(b);
                 }
-            });
+            }
+        }
+        for (int i = 0; i < islandCount; i++) {
+            if (!bodyReady[i]) {
+                islandReady[findIsland(i)] = false;
+            }
+        }
+        for (int i = 0; i < islandCount; i++) {
+            PhysicsComponent physics = islandBodies[i];
+            islandBodies[i] = null;
+            if (islandReady[findIsland(i)]) {
+                if (!physics.isSleeping()) {
+                    physics.sleep();
+                    sleeping++;
+                }
+            } else if (physics.isSleeping()) {
+                physics.wake();
+                sleeping--;
+            }
+        }
+        frameStats.sleeping = sleeping;
+    }
+    
+    private int addIslandBody(PhysicsComponent physics, boolean ready) {
+        int index = islandCount++;
+        if (index == islandBodies.length) {
+            int capacity = index * 2;
+            islandBodies = Arrays.copyOf(islandBodies, capacity);
+            bodyReady = Arrays.copyOf(bodyReady, capacity);
+            islandParent = Arrays.copyOf(islandParent, capacity);
+            islandReady = Arrays.copyOf(islandReady, capacity);
+        }
+        islandBodies[index] = physics;
+        bodyReady[index] = ready;
+        islandParent[index] = index;
+        islandReady[index] = true;
+        physics.setIslandIndex(index);
+        return index;
+    }
+    
+    /**
+     * 刚体在本帧岛中的节点下标；与醒着的刚体接触的休眠刚体在此加入（可休眠），禁用的刚体不加入
+     */
+    private int islandOf(PhysicsComponent physics) {
+        int index = physics.getIslandIndex();
+        if (index >= 0 && index < islandCount && islandBodies[index] == physics) return index;
+        if (!physics.isSleeping() || !physics.isEnabled()) return -1;
+        return addIslandBody(physics, true);
+    }
+    
+    /**
+     * 累计低速时间并返回是否可以休眠（由分区对醒着的刚体调用）；受重力的刚体始终有加速度，不休眠
+     */
+    private boolean advanceSleepTime(PhysicsComponent physics, float deltaTime) {
+        float threshold = physics.getSleepThreshold();
+        float vx = physics.getVelocityX(), vy = physics.getVelocityY();
+        if (threshold <= 0 || physics.isUseGravity() || physics.getTransform() == null
+                || vx * vx + vy * vy >= threshold * threshold) {
+            physics.setSleepTime(0);
+            return false;
+        }
+        float time = physics.getSleepTime() + deltaTime;
+        physics.setSleepTime(time);
+        return time >= sleepDelay;
+    }
+    
+    private int findIsland(int i) {
+        int[] parent = islandParent;
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+    
+    /**
+     * 连续碰撞检测：沿本步位移扫掠高速刚体的碰撞体，与宽相位给出的候选求首次接触时刻，
+     * 命中时把刚体停在接触点（略微压入）。其他碰撞体视为静止在其当前位置
+     */
+    private void resolveSweeps(PartitionTask partition) {
+        Broadphase broadphase = collisions.getBroadphase();
+        CollisionMatrix matrix = collisions.getMatrix();
+        for (int i = 0; i < partition.sweepCount; i++) {
+            PhysicsComponent physics = partition.sweepBodies[i];
+            partition.sweepBodies[i] = null;
+            TransformComponent transform = physics.getTransform();
+            Collider collider = physics.getOwner().getComponent(Collider.class);
+            float startX = partition.sweepStartX[i], startY = partition.sweepStartY[i];
+            float endX = transform.getX(), endY = transform.getY();
+            float dx = endX - startX, dy = endY - startY;
+            // 位移不超过碰撞体较短半边时，步末的离散检测不会漏掉穿越
+            float half = 0.5f * Math.min(collider.getLocalMaxX() - collider.getLocalMinX(),
+                                         collider.getLocalMaxY() - collider.getLocalMinY());
+            float distanceSquared = dx * dx + dy * dy;
+            if (distanceSquared <= half * half) continue;
             
-            futures.add(future);
+            transform.setPosition(startX, startY);
+            collider.updateBounds();
+            sweepCandidates.clear();
+            broadphase.query(
+                Math.min(collider.getMinX(), collider.getMinX() + dx), Math.min(collider.getMinY(), collider.getMinY() + dy),
+                Math.max(collider.getMaxX(), collider.getMaxX() + dx), Math.max(collider.getMaxY(), collider.getMaxY() + dy),
+                sweepCandidates);
+            GameObject owner = physics.getOwner();
+            float best = 1;
+            boolean hit = false;
+            for (int j = 0, n = sweepCandidates.size(); j < n; j++) {
+                Collider other = sweepCandidates.get(j);
+                GameObject otherOwner = other.getOwner();
+                if (otherOwner == owner || !other.isEnabled() || !otherOwner.isActive()) continue;
+                if (!matrix.canCollide(owner.getLayer(), otherOwner.getLayer())) continue;
+                other.updateBounds();
+                float t = collider.timeOfImpact(dx, dy, other);
+                // t == 0 表示起点已重叠，交给离散检测
+                if (t > 0 && t < best) {
+                    best = t;
+                    hit = true;
+                }
+            }
+            sweepCandidates.clear();
+            if (hit) {
+                float advance = Math.min(1, best + CCD_SKIN / (float) Math.sqrt(distanceSquared));
+                transform.setPosition(startX + dx * advance, startY + dy * advance);
+                sweepHits++;
+            } else {
+                transform.setPosition(endX, endY);
+            }
+            collider.updateBounds();
         }
+        partition.sweepCount = 0;
+    }
+    
+    /**
+     * 把 [0, count) 切分为若干分区执行：数量不足阈值或执行器不是 ForkJoinPool 时单分区内联执行，
+     * 否则在线程池上 fork 全部分区并等待完成
+     */
+    private void runPartitions(int count) {
+        long startTime = System.nanoTime();
+        Executor executor = scene.getSystemExecutor();
+        ForkJoinPool pool = executor instanceof ForkJoinPool ? (ForkJoinPool) executor : null;
+        
+        int n = 1;
+        if (pool != null && count >= parallelThreshold) {
+            n = Math.max(1, Math.min(pool.getParallelism(), count / minBatchSize));
+        }
+        int batchSize = count > 0 ? (count + n - 1) / n : 0;
+        n = batchSize > 0 ? (count + batchSize - 1) / batchSize : 0;
+        ensurePartitions(n);
+        for (int i = 0; i < n; i++) {
+            partitions[i].setRange(i * batchSize, Math.min(count, (i + 1) * batchSize));
+        }
+        partitionCount = n;
         
-        for (Future<?> future : futures) {
+        if (n == 1) {
+            partitions[0].work();
+        } else if (n > 1) {
+            root.reinitialize();
             try {
-                future.get();
-            } catch (Exception e) {
+                pool.invoke(root);
+            } catch (RuntimeException e) {
                 e.printStackTrace();
             }
         }
+        
+        long workNanos = 0;
+        for (int i = 0; i < n; i++) {
+            workNanos += partitions[i].nanos;
+        }
+        frameStats.bodies = count;
+        frameStats.partitions = n;
+        frameStats.parallel = n > 1;
+        frameStats.workNanos = workNanos;
+        frameStats.wallNanos = System.nanoTime() - startTime;
+    }
+    
+    private void ensurePartitions(int n) {
+        if (partitions.length >= n) return;
+        int old = partitions.length;
+        partitions = Arrays.copyOf(partitions, n);
+        for (int i = old; i < n; i++) {
+            partitions[i] = new PartitionTask();
+        }
+    }
+    
+    /**
+     * 同步块成员：新出现的刚体加入块，已离开场景的刚体移出块
+     */
+    private void syncChunk(List<PhysicsComponent> physicsComponents) {
+        syncFrame++;
+        for (PhysicsComponent physics : physicsComponents) {
+            TransformComponent transform = physics.getTransform();
+            if (transform == null) continue;
+            int row = physics.getStorage() == chunk ? physics.getStorageRow() : -1;
+            if (row < 0) {
+                if (physics.getStorage() != null || transform.getStorage() != null) continue;
+                row = chunk.add(physics, transform);
+            }
+            chunk.touch(row, syncFrame);
+            // 碰撞体可能在绑定后才添加或改变尺寸，每次同步时刷新
+            syncBounds(physics, row);
+        }
+        chunk.removeStale(syncFrame);
     }
     
-    private void updatePhysics(PhysicsComponent physics, float deltaTime) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
+    /**
+     * 按与 {@link #handleBoundary(PhysicsComponent)} 相同的规则写入该行的边界取值范围
+     */
+    private void syncBounds(PhysicsComponent physics, int row) {
+        float left = 0, top = 0, right = DEFAULT_BODY_SIZE, bottom = DEFAULT_BODY_SIZE;
+        Collider collider = physics.getOwner().getComponent(Collider.class);
+        if (collider != null) {
+            left = collider.getLocalMinX();
+            top = collider.getLocalMinY();
+            right = collider.getLocalMaxX();
+            bottom = collider.getLocalMaxY();
+        }
+        chunk.setBounds(row, -left, -top, screenWidth - right, screenHeight - bottom);
+    }
+    
+    /**
+     * @param batch 整段交给批量（SIMD）内核：区间内全部启用且休眠的不多时使用，休眠刚体的速度、加速度与重力都为零，
+     *              批量积分不会移动它们；否则逐行跳过禁用与休眠的刚体
+     */
+    private void integrateRows(int start, int end, float deltaTime, boolean batch) {
+        BodyChunk c = chunk;
+        float[] x = c.x, y = c.y, vx = c.vx, vy = c.vy, ax = c.ax, ay = c.ay;
+        float[] friction = c.friction, gx = c.gx, gy = c.gy;
+        float[] minX = c.minX, minY = c.minY, maxX = c.maxX, maxY = c.maxY;
         
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
+        if (batch) {
+            BatchMath.integrate(x, y, vx, vy, ax, ay, gx, gy, friction, deltaTime, start, end);
+            BatchMath.bounce(x, vx, minX, maxX, start, end);
+            BatchMath.bounce(y, vy, minY, maxY, start, end);
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            PhysicsComponent body = c.getBody(i);
+            if (!body.isEnabled() || body.isSleeping()) continue;
+            
+            float velX = (vx[i] + (ax[i] + gx[i]) * deltaTime) * friction[i];
+            float velY = (vy[i] + (ay[i] + gy[i]) * deltaTime) * friction[i];
+            float posX = x[i] + velX * deltaTime;
+            float posY = y[i] + velY * deltaTime;
+            ax[i] = 0;
+            ay[i] = 0;
+            
+            if (posX <= minX[i] || posX >= maxX[i]) velX = -velX;
+            if (posY <= minY[i] || posY >= maxY[i]) velY = -velY;
+            if (posX < minX[i]) posX = minX[i];
+            if (posY < minY[i]) posY = minY[i];
+            if (posX > maxX[i]) posX = maxX[i];
+            if (posY > maxY[i]) posY = maxY[i];
+            
+            x[i] = posX;
+            y[i] = posY;
+            vx[i] = velX;
+            vy[i] = velY;
+        }
+    }
+    
+    /**
+     * 积分单个刚体，velocity/acceleration/gravity 为调用方提供的临时向量
+     */
+    private void updatePhysics(PhysicsComponent physics, float deltaTime,
+                               Vector2 velocity, Vector2 acceleration, Vector2 gravity) {
+        TransformComponent transform = physics.getTransform();
         if (transform == null) return;
         
-        Vector2 acceleration = physics.getAcceleration();
+        physics.getAcceleration(acceleration);
         
         if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
+            acceleration.addLocal(physics.getGravity(gravity));
         }
         
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
+        physics.getVelocity(velocity)
+            .addScaledLocal(acceleration, deltaTime)
+            .scaleLocal(physics.getFriction());
+        physics.setVelocity(velocity.x, velocity.y);
         
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
+        transform.translate(velocity.x * deltaTime, velocity.y * deltaTime);
         
-        physics.setAcceleration(new Vector2());
+        physics.setAcceleration(0, 0);
     }
     
+    /**
+     * 让刚体的包围盒保持在屏幕内：有碰撞体时取其局部包围盒，否则按默认尺寸
+     */
     private void handleBoundary(PhysicsComponent physics) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
+        TransformComponent transform = physics.getTransform();
         if (transform == null) return;
         
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
+        float left = 0, top = 0, right = DEFAULT_BODY_SIZE, bottom = DEFAULT_BODY_SIZE;
+        Collider collider = physics.getOwner().getComponent(Collider.class);
+        if (collider != null) {
+            left = collider.getLocalMinX();
+            top = collider.getLocalMinY();
+            right = collider.getLocalMaxX();
+            bottom = collider.getLocalMaxY();
+        }
+        float minX = -left, minY = -top;
+        float maxX = screenWidth - right, maxY = screenHeight - bottom;
         
         boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
+        float velX = physics.getVelocityX();
+        float velY = physics.getVelocityY();
+        float posX = transform.getX();
+        float posY = transform.getY();
         
-        if (posX <= 0 || posX >= screenWidth - 15) {
+        if (posX <= minX || posX >= maxX) {
             velX = -velX;
             velocityChanged = true;
         }
-        if (posY <= 0 || posY >= screenHeight - 15) {
+        if (posY <= minY || posY >= maxY) {
             velY = -velY;
             velocityChanged = true;
         }
         
-        if (posX < 0) posX = 0;
-        if (posY < 0) posY = 0;
-        if (posX > screenWidth - 15) posX = screenWidth - 15;
-        if (posY > screenHeight - 15) posY = screenHeight - 15;
+        if (posX < minX) posX = minX;
+        if (posY < minY) posY = minY;
+        if (posX > maxX) posX = maxX;
+        if (posY > maxY) posY = maxY;
         
-        transform.setPosition(new Vector2(posX, posY));
+        transform.setPosition(posX, posY);
         
         if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+            physics.setVelocity(velX, velY);
         }
     }
     
+    /**
+     * 释放块存储；线程池由引擎持有，这里不再关闭
+     */
     public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
+        chunk.clear();
+    }
+    
+    /**
+     * 一个行区间的更新任务，持有自己的临时向量。
+     * 顺带收集本区间醒着的刚体及其是否可以休眠、休眠刚体数与高速刚体的起点，供积分后的串行阶段使用
+     */
+    private final class PartitionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private int start;
+        private int end;
+        // 本帧在该分区上花费的时间
+        long nanos;
+        private final Vector2 velocity = new Vector2();
+        private final Vector2 acceleration = new Vector2();
+        private final Vector2 gravity = new Vector2();
+        PhysicsComponent[] awake = new PhysicsComponent[64];
+        boolean[] ready = new boolean[64];
+        int awakeCount;
+        int sleepingCount;
+        PhysicsComponent[] sweepBodies = new PhysicsComponent[8];
+        float[] sweepStartX = new float[8];
+        float[] sweepStartY = new float[8];
+        int sweepCount;
+        
+        void setRange(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected void compute() {
+            work();
+        }
+        
+        void work() {
+            long t0 = System.nanoTime();
+            float deltaTime = frameDelta;
+            awakeCount = 0;
+            sleepingCount = 0;
+            sweepCount = 0;
+            if (frameChunk) {
+                BodyChunk c = chunk;
+                boolean anyDisabled = false;
+                for (int i = start; i < end; i++) {
+                    PhysicsComponent physics = c.getBody(i);
+                    if (!physics.isEnabled()) {
+                        anyDisabled = true;
+                    } else if (physics.isSleeping()) {
+                        sleepingCount++;
+                    } else {
+                        addAwake(physics);
+                    }
+                }
+                // 在块的连续列上批量积分并处理边界，之后再按积分后的速度判断休眠
+                integrateRows(start, end, deltaTime, !anyDisabled && sleepingCount * 2 <= end - start);
+                for (int k = 0; k < awakeCount; k++) {
+                    ready[k] = advanceSleepTime(awake[k], deltaTime);
+                }
+            } else {
+                List<PhysicsComponent> physicsComponents = frameBodies;
+                for (int j = start; j < end; j++) {
+                    PhysicsComponent physics = physicsComponents.get(j);
+                    if (!physics.isEnabled()) continue;
+                    if (physics.isSleeping()) {
+                        sleepingCount++;
+                        continue;
+                    }
+                    int k = addAwake(physics);
+                    updatePhysics(physics, deltaTime, velocity, acceleration, gravity);
+                    handleBoundary(physics);
+                    ready[k] = advanceSleepTime(physics, deltaTime);
                 }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
             }
+            nanos = System.nanoTime() - t0;
+        }
+        
+        /**
+         * 登记醒着的刚体；开启连续检测时同时记录高速刚体积分前的位置
+         */
+        private int addAwake(PhysicsComponent physics) {
+            if (awakeCount == awake.length) {
+                awake = Arrays.copyOf(awake, awakeCount * 2);
+                ready = Arrays.copyOf(ready, awakeCount * 2);
+            }
+            if (frameSweeps && physics.isContinuous()) {
+                recordSweepStart(physics);
+            }
+            awake[awakeCount] = physics;
+            return awakeCount++;
+        }
+        
+        private void recordSweepStart(PhysicsComponent physics) {
+            TransformComponent transform = physics.getTransform();
+            // 子对象的位置是局部坐标，不参与扫掠
+            if (transform == null || physics.getOwner().getParent() != null
+                    || physics.getOwner().getComponent(Collider.class) == null) return;
+            if (sweepCount == sweepBodies.length) {
+                sweepBodies = Arrays.copyOf(sweepBodies, sweepCount * 2);
+                sweepStartX = Arrays.copyOf(sweepStartX, sweepCount * 2);
+                sweepStartY = Arrays.copyOf(sweepStartY, sweepCount * 2);
+            }
+            sweepBodies[sweepCount] = physics;
+            sweepStartX[sweepCount] = transform.getX();
+            sweepStartY[sweepCount] = transform.getY();
+            sweepCount++;
+        }
+    }
+    
+    /**
+     * 根任务：fork 除第一个以外的分区，自己执行第一个，再依次 join
+     */
+    private final class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        @Override
+        protected void compute() {
+            int n = partitionCount;
+            for (int i = 1; i < n; i++) {
+                partitions[i].reinitialize();
+                partitions[i].fork();
+            }
+            partitions[0].work();
+            for (int i = n - 1; i >= 1; i--) {
+                partitions[i].join();
+            }
+        }
+    }
+    
+    /**
+     * 每帧并行统计：刚体数、休眠刚体数、分区数、墙钟耗时与各分区耗时之和。
+     * 加速比 = 分区耗时之和 / 墙钟耗时，内联执行时约为 1
+     */
+    public static class FrameStats {
+        public int bodies;
+        public int sleeping;
+        public int partitions;
+        public boolean parallel;
+        public long wallNanos;
+        public long workNanos;
+        
+        public double getSpeedup() {
+            return wallNanos > 0 ? (double) workNanos / wallNanos : 1.0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("bodies=%d, sleeping=%d, partitions=%d, parallel=%b, wall=%.3fms, work=%.3fms, speedup=%.2f",
+                bodies, sleeping, partitions, parallel, wallNanos / 1e6, workNanos / 1e6, getSpeedup());
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.gameengine.core;
+
+/**
+ * 模拟时钟：每次读取时间都前进固定的一帧，
+ * 因此引擎每帧得到恒定的 deltaTime，运行速度只受 CPU 限制且结果可复现。
+ */
+public class SimulatedClock implements GameClock {
+    private final long frameNanos;
+    private long now;
+    
+    public SimulatedClock(float frameSeconds) {
+        if (frameSeconds <= 0) {
+            throw new IllegalArgumentException("帧时长必须为正数: " + frameSeconds);
+        }
+        this.frameNanos = (long) (frameSeconds * 1_000_000_000.0);
+    }
+    
+    @Override
+    public long nanoTime() {
+        now += frameNanos;
+        return now;
+    }
+    
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+}
@@ -0,0 +1,254 @@
+package com.gameengine.core;
+
+import com.gameengine.components.Collider;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * x 轴排序扫描（sort and sweep）宽相位。
+ * 每个代理在 x 轴上有 min/max 两个端点，端点数组跨帧保留；
+ * 物体运动连贯时数组每帧几乎有序，用插入排序重排接近线性。
+ * 扫描时维护 x 区间相交的活动集合，只对 y 区间也相交的代理输出候选对；
+ * 休眠代理只与活动集合中醒着的代理比较。端点遍历本身仍是 O(n)，休眠物体占多数时网格更省。
+ * 大量物体沿 y 方向扎堆时 x 轴剪枝效果会变差，此时网格更合适
+ */
+public final class SweepAndPruneBroadphase implements Broadphase {
+    // 代理，按句柄下标存放；移除的句柄在其端点被压缩掉之后才放入空闲栈复用
+    private Collider[] colliders = new Collider[64];
+    private float[] minX = new float[64];
+    private float[] minY = new float[64];
+    private float[] maxX = new float[64];
+    private float[] maxY = new float[64];
+    // 代理在活动集合中的位置（不在其中为 -1）
+    private int[] activeIndex = new int[64];
+    private boolean[] sleeping = new boolean[64];
+    private int[] freeProxies = new int[64];
+    private int freeCount;
+    private int[] removedProxies = new int[16];
+    private int removedCount;
+    private int nextProxy;
+    
+    // 端点：值与 (代理 << 1 | 是否为 max) 的编码，按值升序
+    private float[] endpointValues = new float[128];
+    private int[] endpoints = new int[128];
+    private int endpointCount;
+    
+    private int[] active = new int[64];
+    private int activeCount;
+    // 活动集合中醒着的子集
+    private int[] awakeActive = new int[64];
+    private int[] awakeActiveIndex = new int[64];
+    private int awakeActiveCount;
+    // 最近一次排序中的端点交换次数，衡量帧间一致性
+    private int swaps;
+    
+    @Override
+    public int add(Collider collider) {
+        int proxy;
+        if (freeCount > 0) {
+            proxy = freeProxies[--freeCount];
+        } else {
+            proxy = nextProxy++;
+            if (proxy == colliders.length) {
+                int capacity = proxy * 2;
+                colliders = Arrays.copyOf(colliders, capacity);
+                minX = Arrays.copyOf(minX, capacity);
+                minY = Arrays.copyOf(minY, capacity);
+                maxX = Arrays.copyOf(maxX, capacity);
+                maxY = Arrays.copyOf(maxY, capacity);
+                activeIndex = Arrays.copyOf(activeIndex, capacity);
+                active = Arrays.copyOf(active, capacity);
+                sleeping = Arrays.copyOf(sleeping, capacity);
+                awakeActive = Arrays.copyOf(awakeActive, capacity);
+                awakeActiveIndex = Arrays.copyOf(awakeActiveIndex, capacity);
+            }
+        }
+        colliders[proxy] = collider;
+        activeIndex[proxy] = -1;
+        awakeActiveIndex[proxy] = -1;
+        sleeping[proxy] = false;
+        update(proxy, collider);
+        // 新端点追加在末尾，下一次排序时插入到位
+        if (endpointCount + 2 > endpoints.length) {
+            endpoints = Arrays.copyOf(endpoints, endpoints.length * 2);
+            endpointValues = Arrays.copyOf(endpointValues, endpointValues.length * 2);
+        }
+        endpoints[endpointCount] = proxy << 1;
+        endpointValues[endpointCount++] = minX[proxy];
+        endpoints[endpointCount] = (proxy << 1) | 1;
+        endpointValues[endpointCount++] = maxX[proxy];
+        return proxy;
+    }
+    
+    @Override
+    public void update(int proxy, Collider collider) {
+        minX[proxy] = collider.getMinX();
+        minY[proxy] = collider.getMinY();
+        maxX[proxy] = collider.getMaxX();
+        maxY[proxy] = collider.getMaxY();
+    }
+    
+    /**
+     * 只在扫描之间调用，扫描时的活动集合不受影响
+     */
+    @Override
+    public void setSleeping(int proxy, boolean sleeping) {
+        this.sleeping[proxy] = sleeping;
+    }
+    
+    @Override
+    public void remove(int proxy) {
+        colliders[proxy] = null;
+        if (removedCount == removedProxies.length) {
+            removedProxies = Arrays.copyOf(removedProxies, removedCount * 2);
+        }
+        removedProxies[removedCount++] = proxy;
+    }
+    
+    @Override
+    public void findPairs(PairBuffer out) {
+        if (removedCount > 0) {
+            compactEndpoints();
+        }
+        refreshEndpoints();
+        sortEndpoints();
+        sweep(out);
+    }
+    
+    /**
+     * 去掉已移除代理的端点（保持相对顺序），之后这些句柄才可以复用
+     */
+    private void compactEndpoints() {
+        int write = 0;
+        for (int read = 0; read < endpointCount; read++) {
+            int e = endpoints[read];
+            if (colliders[e >>> 1] != null) {
+                endpoints[write] = e;
+                endpointValues[write] = endpointValues[read];
+                write++;
+            }
+        }
+        endpointCount = write;
+        if (freeCount + removedCount > freeProxies.length) {
+            freeProxies = Arrays.copyOf(freeProxies, Math.max(freeCount + removedCount, freeProxies.length * 2));
+        }
+        System.arraycopy(removedProxies, 0, freeProxies, freeCount, removedCount);
+        freeCount += removedCount;
+        removedCount = 0;
+    }
+    
+    private void refreshEndpoints() {
+        for (int i = 0; i < endpointCount; i++) {
+            int e = endpoints[i];
+            int proxy = e >>> 1;
+            endpointValues[i] = (e & 1) == 0 ? minX[proxy] : maxX[proxy];
+        }
+    }
+    
+    /**
+     * 插入排序：值相同时 min 端点排在 max 之前，使接触的区间也算相交
+     */
+    private void sortEndpoints() {
+        float[] values = endpointValues;
+        int[] data = endpoints;
+        int count = 0;
+        for (int i = 1; i < endpointCount; i++) {
+            float value = values[i];
+            int e = data[i];
+            int j = i - 1;
+            while (j >= 0 && (values[j] > value || (values[j] == value && (data[j] & 1) > (e & 1)))) {
+                values[j + 1] = values[j];
+                data[j + 1] = data[j];
+                j--;
+                count++;
+            }
+            values[j + 1] = value;
+            data[j + 1] = e;
+        }
+        swaps = count;
+    }
+    
+    private void sweep(PairBuffer out) {
+        activeCount = 0;
+        awakeActiveCount = 0;
+        for (int i = 0; i < endpointCount; i++) {
+            int e = endpoints[i];
+            int proxy = e >>> 1;
+            if ((e & 1) == 0) {
+                // 醒着的代理与全部活动代理比较，休眠的只与醒着的比较
+                boolean asleep = sleeping[proxy];
+                int[] others = asleep ? awakeActive : active;
+                int count = asleep ? awakeActiveCount : activeCount;
+                float pMinY = minY[proxy], pMaxY = maxY[proxy];
+                Collider c = colliders[proxy];
+                for (int k = 0; k < count; k++) {
+                    int other = others[k];
+                    if (minY[other] <= pMaxY && pMinY <= maxY[other]) {
+                        out.add(colliders[other], c);
+                    }
+                }
+                activeIndex[proxy] = activeCount;
+                active[activeCount++] = proxy;
+                if (!asleep) {
+                    awakeActiveIndex[proxy] = awakeActiveCount;
+                    awakeActive[awakeActiveCount++] = proxy;
+                }
+            } else {
+                // 与活动集合末尾交换后删除
+                int index = activeIndex[proxy];
+                int last = active[--activeCount];
+                active[index] = last;
+                activeIndex[last] = index;
+                activeIndex[proxy] = -1;
+                index = awakeActiveIndex[proxy];
+                if (index >= 0) {
+                    last = awakeActive[--awakeActiveCount];
+                    awakeActive[index] = last;
+                    awakeActiveIndex[last] = index;
+                    awakeActiveIndex[proxy] = -1;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 区域查询逐个检查代理（O(n)），排序扫描不擅长单次区域查询
+     */
+    @Override
+    public void query(float qMinX, float qMinY, float qMaxX, float qMaxY, List<Collider> out) {
+        for (int proxy = 0; proxy < nextProxy; proxy++) {
+            Collider c = colliders[proxy];
+            if (c != null && minX[proxy] <= qMaxX && qMinX <= maxX[proxy]
+                    && minY[proxy] <= qMaxY && qMinY <= maxY[proxy]) {
+                out.add(c);
+            }
+        }
+    }
+    
+    @Override
+    public void clear() {
+        Arrays.fill(colliders, 0, nextProxy, null);
+        nextProxy = 0;
+        freeCount = 0;
+        endpointCount = 0;
+        activeCount = 0;
+        awakeActiveCount = 0;
+        removedCount = 0;
+    }
+    
+    /**
+     * 最近一次排序的端点交换次数
+     */
+    public int getSwapCount() {
+        return swaps;
+    }
+    
+    public int size() {
+        return nextProxy - freeCount - removedCount;
+    }
+    
+    @Override
+    public String name() {
+        return "sap(x)";
+    }
+}
@@ -0,0 +1,62 @@
+package com.gameengine.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 标签注册表，为每个标签名分配 long 位掩码中的一位（最多 64 个）
+ * GameObject 以位掩码保存标签，按类别过滤只需一次按位与
+ */
+public final class TagRegistry {
+    public static final int MAX_TAGS = 64;
+    
+    private static final Map<String, Long> bits = new HashMap<>();
+    private static final String[] names = new String[MAX_TAGS];
+    private static int nextIndex = 0;
+    
+    private TagRegistry() {}
+    
+    /**
+     * 获取标签对应的位，首次访问时自动注册
+     */
+    public static synchronized long bitOf(String name) {
+        Long bit = bits.get(name);
+        if (bit == null) {
+            if (nextIndex >= MAX_TAGS) {
+                throw new IllegalStateException("标签数量超出上限: " + MAX_TAGS);
+            }
+            names[nextIndex] = name;
+            bit = 1L << nextIndex++;
+            bits.put(name, bit);
+        }
+        return bit;
+    }
+    
+    /**
+     * 多个标签的组合掩码
+     */
+    public static long maskOf(String... names) {
+        long mask = 0L;
+        for (String name : names) {
+            mask |= bitOf(name);
+        }
+        return mask;
+    }
+    
+    /**
+     * 位下标（0..63）对应的标签名，未注册时返回 null
+     */
+    public static synchronized String nameOf(int index) {
+        return index >= 0 && index < MAX_TAGS ? names[index] : null;
+    }
+    
+    /**
+     * 单个标签位在掩码中的下标
+     */
+    public static int indexOf(long bit) {
+        if (Long.bitCount(bit) != 1) {
+            throw new IllegalArgumentException("需要单个标签位: " + Long.toHexString(bit));
+        }
+        return Long.numberOfTrailingZeros(bit);
+    }
+}
@@ -0,0 +1,168 @@
+package com.gameengine.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 引擎级共享工作线程池，由 GameEngine 创建并在 cleanup 时关闭。
+ * 场景与系统只借用执行器，不自行创建或关闭线程池。
+ * 计算型任务使用 ForkJoinPool；阻塞型任务（文件 IO 等）使用独立执行器，
+ * 运行时支持虚拟线程时每个任务一个虚拟线程，否则退化为守护线程的缓存线程池。
+ */
+public final class WorkerPool {
+    private final ForkJoinPool pool;
+    private volatile ExecutorService blockingExecutor;
+    private volatile boolean virtualThreads;
+    private volatile boolean shutdown;
+    
+    public WorkerPool() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+    
+    public WorkerPool(int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("engine-worker-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+    
+    /**
+     * 计算型任务执行器（帧内并行、系统调度）
+     */
+    public ForkJoinPool getExecutor() {
+        return pool;
+    }
+    
+    /**
+     * 阻塞型任务执行器，首次访问时创建
+     */
+    public ExecutorService getBlockingExecutor() {
+        ExecutorService executor = blockingExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = blockingExecutor;
+                if (executor == null) {
+                    if (shutdown) {
+                        throw new IllegalStateException("工作线程池已关闭");
+                    }
+                    executor = createBlockingExecutor();
+                    blockingExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+    
+    /**
+     * 阻塞执行器是否使用虚拟线程
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    private ExecutorService createBlockingExecutor() {
+        // 虚拟线程需要 JDK 21+，通过反射查找以保持对旧运行时的兼容
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreads = true;
+            return executor;
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "engine-io-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+    
+    /**
+     * 工作线程本地队列中等待的任务数
+     */
+    public long getQueuedTaskCount() {
+        return pool.getQueuedTaskCount();
+    }
+    
+    /**
+     * 外部线程提交、尚未被工作线程取走的任务数
+     */
+    public int getQueuedSubmissionCount() {
+        return pool.getQueuedSubmissionCount();
+    }
+    
+    /**
+     * 累计窃取次数
+     */
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+    
+    /**
+     * 正在执行任务的线程数
+     */
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+    
+    /**
+     * 未阻塞在同步点上的工作线程数
+     */
+    public int getRunningThreadCount() {
+        return pool.getRunningThreadCount();
+    }
+    
+    public int getPoolSize() {
+        return pool.getPoolSize();
+    }
+    
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+    
+    public boolean isShutdown() {
+        return shutdown;
+    }
+    
+    /**
+     * 关闭线程池，等待正在执行的任务结束（最多 timeoutMillis），超时后强制中断
+     */
+    public synchronized void shutdown(long timeoutMillis) {
+        if (shutdown) return;
+        shutdown = true;
+        pool.shutdown();
+        if (blockingExecutor != null) {
+            blockingExecutor.shutdown();
+        }
+        try {
+            if (!pool.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                pool.shutdownNow();
+            }
+            if (blockingExecutor != null && !blockingExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                blockingExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            if (blockingExecutor != null) blockingExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public void shutdown() {
+        shutdown(1000);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("parallelism=%d size=%d active=%d running=%d queued=%d submissions=%d steals=%d",
+            getParallelism(), getPoolSize(), getActiveThreadCount(), getRunningThreadCount(),
+            getQueuedTaskCount(), getQueuedSubmissionCount(), getStealCount());
+    }
+}
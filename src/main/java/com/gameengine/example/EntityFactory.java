@@ -10,23 +10,33 @@ public final class EntityFactory {
     private EntityFactory() {}
 
     public static GameObject createPlayerVisual(IRenderer renderer) {
-        return new GameObject("Player") {
-            private Vector2 basePosition;
-            @Override
-            public void update(float dt) {
-                super.update(dt);
-                TransformComponent tc = getComponent(TransformComponent.class);
-                if (tc != null) basePosition = tc.getPosition();
-            }
-            @Override
-            public void render() {
-                if (basePosition == null) return;
-                renderer.drawRect(basePosition.x - 8, basePosition.y - 10, 16, 20, 1.0f, 0.0f, 0.0f, 1.0f);
-                renderer.drawRect(basePosition.x - 6, basePosition.y - 22, 12, 12, 1.0f, 0.5f, 0.0f, 1.0f);
-                renderer.drawRect(basePosition.x - 13, basePosition.y - 5, 6, 12, 1.0f, 0.8f, 0.0f, 1.0f);
-                renderer.drawRect(basePosition.x + 7, basePosition.y - 5, 6, 12, 0.0f, 1.0f, 0.0f, 1.0f);
-            }
-        };
+        GameObject player = new GameObject("Player");
+        player.addComponent(new TransformComponent(new Vector2(0, 0)));
+        addPlayerBodyParts(player, renderer);
+        return player;
+    }
+
+    /**
+     * 葫芦娃的身体、头、左右臂，作为子对象挂在 player 下，偏移相对 player 的位置
+     */
+    public static void addPlayerBodyParts(GameObject player, IRenderer renderer) {
+        addPart(player, renderer, "PlayerBody", -8, -10, 16, 20, 1.0f, 0.0f, 0.0f);
+        addPart(player, renderer, "PlayerHead", -6, -22, 12, 12, 1.0f, 0.5f, 0.0f);
+        addPart(player, renderer, "PlayerLeftArm", -13, -5, 6, 12, 1.0f, 0.8f, 0.0f);
+        addPart(player, renderer, "PlayerRightArm", 7, -5, 6, 12, 0.0f, 1.0f, 0.0f);
+    }
+
+    private static void addPart(GameObject parent, IRenderer renderer, String name,
+                                float x, float y, float w, float h, float r, float g, float b) {
+        GameObject part = new GameObject(name);
+        part.addComponent(new TransformComponent(new Vector2(x, y)));
+        RenderComponent rc = part.addComponent(new RenderComponent(
+            RenderComponent.RenderType.RECTANGLE,
+            new Vector2(w, h),
+            new RenderComponent.Color(r, g, b, 1.0f)
+        ));
+        rc.setRenderer(renderer);
+        parent.addChild(part);
     }
 
     public static GameObject createAIVisual(IRenderer renderer, float w, float h, float r, float g, float b, float a) {
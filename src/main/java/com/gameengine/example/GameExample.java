@@ -4,7 +4,7 @@ import com.gameengine.components.*;
 import com.gameengine.core.GameObject;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
-import com.gameengine.graphics.Renderer;
+import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
@@ -24,7 +24,7 @@ public class GameExample {
             
             // 创建游戏场景
             Scene gameScene = new Scene("GameScene") {
-                private Renderer renderer;
+                private IRenderer renderer;
                 private Random random;
                 private float time;
                 private GameLogic gameLogic;
@@ -70,58 +70,12 @@ public class GameExample {
                 }
                 
                 private void createPlayer() {
-                    // 创建葫芦娃 - 所有部位都在一个GameObject中
+                    // 创建葫芦娃 - 身体各部位是子对象
                     GameObject player = new GameObject("Player") {
-                        private Vector2 basePosition;
-                        
                         @Override
                         public void update(float deltaTime) {
                             super.update(deltaTime);
                             updateComponents(deltaTime);
-                            
-                            // 更新所有部位的位置
-                            updateBodyParts();
-                        }
-                        
-                        @Override
-                        public void render() {
-                            // 渲染所有部位
-                            renderBodyParts();
-                        }
-                        
-                        private void updateBodyParts() {
-                            TransformComponent transform = getComponent(TransformComponent.class);
-                            if (transform != null) {
-                                basePosition = transform.getPosition();
-                            }
-                        }
-                        
-                        private void renderBodyParts() {
-                            if (basePosition == null) return;
-                            
-                            // 渲染身体
-                            renderer.drawRect(
-                                basePosition.x - 8, basePosition.y - 10, 16, 20,
-                                1.0f, 0.0f, 0.0f, 1.0f  // 红色
-                            );
-                            
-                            // 渲染头部
-                            renderer.drawRect(
-                                basePosition.x - 6, basePosition.y - 22, 12, 12,
-                                1.0f, 0.5f, 0.0f, 1.0f  // 橙色
-                            );
-                            
-                            // 渲染左臂
-                            renderer.drawRect(
-                                basePosition.x - 13, basePosition.y - 5, 6, 12,
-                                1.0f, 0.8f, 0.0f, 1.0f  // 黄色
-                            );
-                            
-                            // 渲染右臂
-                            renderer.drawRect(
-                                basePosition.x + 7, basePosition.y - 5, 6, 12,
-                                0.0f, 1.0f, 0.0f, 1.0f  // 绿色
-                            );
                         }
                     };
                     
@@ -132,6 +86,15 @@ public class GameExample {
                     PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
                     physics.setFriction(0.95f);
                     
+                    player.addTags(GameLogic.PLAYER);
+                    
+                    // 碰撞体：与敌人的接触由 CollisionSystem 检测
+                    player.setLayer(GameLogic.PLAYER_LAYER);
+                    player.addComponent(new CircleCollider(GameLogic.COLLISION_RADIUS));
+                    
+                    // 身体、头部、左右臂作为子对象挂在玩家下
+                    EntityFactory.addPlayerBodyParts(player, renderer);
+                    
                     addGameObject(player);
                 }
                 
@@ -154,6 +117,10 @@ public class GameExample {
                             renderComponents();
                         }
                     };
+                    enemy.addTags(GameLogic.ENEMY);
+                    enemy.setLayer(GameLogic.ENEMY_LAYER);
+                    // 与下面 20x20 的矩形一致（左上角在 Transform 位置）
+                    enemy.addComponent(new AabbCollider(20, 20));
                     
                     // 随机位置
                     Vector2 position = new Vector2(
@@ -6,6 +6,7 @@ import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.GameObjectPool;
 import com.gameengine.core.ParticleSystem;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
@@ -27,6 +28,8 @@ public class GameScene extends Scene {
     private float freezeTimer;
     private final float inputCooldown = 0.25f;
     private final float freezeDelay = 0.20f;
+    // AI 玩家对象池：跨场景实例共享，场景清理时对象连同组件归还，下一局直接复用
+    private static final GameObjectPool aiPlayerPool = new GameObjectPool(GameScene::newAIPlayer, GameScene::resetAIPlayer, 256);
 
     public GameScene(GameEngine engine) {
         super("GameScene");
@@ -218,57 +221,22 @@ public class GameScene extends Scene {
 
     private void createPlayer() {
         GameObject player = new GameObject("Player") {
-            private Vector2 basePosition;
-
             @Override
             public void update(float deltaTime) {
                 super.update(deltaTime);
                 updateComponents(deltaTime);
-                updateBodyParts();
-            }
-
-            @Override
-            public void render() {
-                renderBodyParts();
-            }
-
-            private void updateBodyParts() {
-                TransformComponent transform = getComponent(TransformComponent.class);
-                if (transform != null) {
-                    basePosition = transform.getPosition();
-                }
-            }
-
-            private void renderBodyParts() {
-                if (basePosition == null) return;
-
-                renderer.drawRect(
-                    basePosition.x - 8, basePosition.y - 10, 16, 20,
-                    1.0f, 0.0f, 0.0f, 1.0f
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 6, basePosition.y - 22, 12, 12,
-                    1.0f, 0.5f, 0.0f, 1.0f
-                );
-
-                renderer.drawRect(
-                    basePosition.x - 13, basePosition.y - 5, 6, 12,
-                    1.0f, 0.8f, 0.0f, 1.0f
-                );
-
-                renderer.drawRect(
-                    basePosition.x + 7, basePosition.y - 5, 6, 12,
-                    0.0f, 1.0f, 0.0f, 1.0f
-                );
             }
         };
+        player.addTags(GameLogic.PLAYER);
 
         player.addComponent(new TransformComponent(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)));
 
         PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
         physics.setFriction(0.95f);
 
+        // 身体各部位是子对象，随玩家的世界变换一起移动
+        EntityFactory.addPlayerBodyParts(player, renderer);
+
         addGameObject(player);
     }
 
@@ -279,6 +247,29 @@ public class GameScene extends Scene {
     }
 
     private void createAIPlayer() {
+        GameObject aiPlayer = aiPlayerPool.acquire();
+
+        Vector2 position;
+        do {
+            position = new Vector2(
+                random.nextFloat() * renderer.getWidth(),
+                random.nextFloat() * renderer.getHeight()
+            );
+        } while (position.distance(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)) < 100);
+
+        aiPlayer.getComponent(TransformComponent.class).setPosition(position);
+        aiPlayer.getComponent(RenderComponent.class).setRenderer(renderer);
+
+        PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
+        physics.setVelocity(new Vector2(
+            (random.nextFloat() - 0.5f) * 150,
+            (random.nextFloat() - 0.5f) * 150
+        ));
+
+        addGameObject(aiPlayer);
+    }
+
+    private static GameObject newAIPlayer() {
         GameObject aiPlayer = new GameObject("AIPlayer") {
             @Override
             public void update(float deltaTime) {
@@ -292,31 +283,24 @@ public class GameScene extends Scene {
             }
         };
 
-        Vector2 position;
-        do {
-            position = new Vector2(
-                random.nextFloat() * renderer.getWidth(),
-                random.nextFloat() * renderer.getHeight()
-            );
-        } while (position.distance(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)) < 100);
-
-        aiPlayer.addComponent(new TransformComponent(position));
+        aiPlayer.addComponent(new TransformComponent(new Vector2(0, 0)));
         // 使用工厂统一外观
-        RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
+        aiPlayer.addComponent(new RenderComponent(
             RenderComponent.RenderType.RECTANGLE,
             new Vector2(20, 20),
             new RenderComponent.Color(0.0f, 0.8f, 1.0f, 1.0f)
         ));
-        rc.setRenderer(renderer);
 
         PhysicsComponent physics = aiPlayer.addComponent(new PhysicsComponent(0.5f));
-        physics.setVelocity(new Vector2(
-            (random.nextFloat() - 0.5f) * 150,
-            (random.nextFloat() - 0.5f) * 150
-        ));
         physics.setFriction(0.98f);
+        return aiPlayer;
+    }
 
-        addGameObject(aiPlayer);
+    private static void resetAIPlayer(GameObject aiPlayer) {
+        aiPlayer.getComponent(RenderComponent.class).setRenderer(null);
+        PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
+        physics.setVelocity(0, 0);
+        physics.setAcceleration(new Vector2(0, 0));
     }
 
     private void createDecorations() {
@@ -11,6 +11,8 @@ import com.gameengine.core.GameEngine;
 public class HuluSnake {
     public static void main(String[] args) {
         GameEngine engine = new GameEngine(800, 600, "贪吃葫芦 (Hulu Snake)");
+        // fixed 60Hz simulation so stepping/recordings do not depend on timer jitter
+        engine.setFixedTimestep(true);
 
         engine.setScene(new MenuScene(engine, "menu"));
         engine.run();
@@ -1,25 +1,26 @@
 package com.gameengine.example;
 
-import com.gameengine.graphics.Renderer;
+import com.gameengine.graphics.IRenderer;
 import com.gameengine.input.InputManager;
 import com.gameengine.scene.Scene;
+import com.gameengine.scene.SpatialHash;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
+import com.gameengine.components.Collider;
 import com.gameengine.core.GameEngine;
+import com.gameengine.core.ObjectPool;
 import com.gameengine.math.Vector2;
 import com.gameengine.recording.RecordingConfig;
 import com.gameengine.recording.RecordingService;
 import com.gameengine.recording.InputEventRecord;
 
 public class HuluSnakeScene extends Scene {
-    private Renderer renderer;
+    private IRenderer renderer;
     private InputManager input;
     private Random random;
     private long recordingSeed = -1L;
@@ -46,7 +47,14 @@ public class HuluSnakeScene extends Scene {
     private int seedSpawnMargin = 2;       // keep seeds away from walls by N grid cells
 
     private List<Monster> monsters;
-    private ExecutorService executor;
+    // broadphase for head-vs-monster checks; updated after monsters move, queried into a reused list
+    private final SpatialHash<Monster> monsterHash = new SpatialHash<>(64);
+    private final List<Monster> nearbyMonsters = new ArrayList<>();
+
+    // pools for snake entities: growth/spawn reuse released instances instead of allocating
+    private final ObjectPool<Seg> segPool = new ObjectPool<>(Seg::new, s -> s.color = null, 1024);
+    private final ObjectPool<Seed> seedPool = new ObjectPool<>(Seed::new, s -> { s.id = null; s.color = null; }, 256);
+    private final ObjectPool<Monster> monsterPool = new ObjectPool<>(Monster::new, null, 64);
 
     private float stepTime = 0.12f;     // seconds per step
     private float stepAcc = 0f;
@@ -144,7 +152,6 @@ public class HuluSnakeScene extends Scene {
         if (this.random == null) {
             random = new Random(recordingSeed);
         }
-        executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
         // use override size when replaying a recording with recorded viewport dimensions
         worldW = (overrideWorldW > 0) ? overrideWorldW : renderer.getWidth();
         worldH = (overrideWorldH > 0) ? overrideWorldH : renderer.getHeight();
@@ -162,6 +169,7 @@ public class HuluSnakeScene extends Scene {
         try {
             recordingConfig = new RecordingConfig("recordings/hulusnake-" + System.currentTimeMillis() + ".jsonl");
             recordingService = new RecordingService(recordingConfig);
+            recordingService.setWriterExecutor(engine.getWorkerPool().getBlockingExecutor());
             // only auto-start recording when explicitly requested and not running a simulation replay
             if (autoRecord && recordingService != null && !this.simulateMode) {
                 recordingService.start(this, renderer.getWidth(), renderer.getHeight());
@@ -203,7 +211,7 @@ public class HuluSnakeScene extends Scene {
                         if (se.color != null) {
                             cr = se.color[0]; cg = se.color[1]; cb = se.color[2]; ca = (se.color.length>3?se.color[3]:1.0f);
                         }
-                        Seed s = new Seed(se.id, se.gx, se.gy, new Color(cr, cg, cb, ca));
+                        Seed s = seedPool.acquire().set(se.id, se.gx, se.gy, new Color(cr, cg, cb, ca));
                         seeds.add(s);
                         System.out.printf("[ReplayDebug] applied spawnEvent t=%.3f id=%s gx=%d gy=%d replayTime=%.3f seedCounter=%d\n",
                             se.t, se.id, se.gx, se.gy, replayTime, seedCounter);
@@ -271,14 +279,16 @@ public class HuluSnakeScene extends Scene {
             List<Monster> snapshot = new ArrayList<>(monsters);
             int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
             int batchSize = Math.max(1, snapshot.size() / threadCount + 1);
-            List<Future<?>> futures = new ArrayList<>();
+            // batches run on the engine's shared worker pool (injected by GameEngine.setScene)
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
 
             for (int i = 0; i < snapshot.size(); i += batchSize) {
                 final int start = i;
                 final int end = Math.min(i + batchSize, snapshot.size());
-                futures.add(executor.submit(() -> {
+                futures.add(CompletableFuture.runAsync(() -> {
                     for (int j = start; j < end; j++) {
                         Monster m = snapshot.get(j);
+                        m.px = m.x; m.py = m.y;
                         m.x += m.vx * deltaTime;
                         m.y += m.vy * deltaTime;
                         if (m.x < 0) { m.x = 0; m.vx = Math.abs(m.vx); }
@@ -286,15 +296,21 @@ public class HuluSnakeScene extends Scene {
                         if (m.x > worldW - m.size) { m.x = worldW - m.size; m.vx = -Math.abs(m.vx); }
                         if (m.y > worldH - m.size) { m.y = worldH - m.size; m.vy = -Math.abs(m.vy); }
                     }
-                }));
+                }, getSystemExecutor()));
             }
 
-            for (Future<?> f : futures) {
-                try { f.get(); } catch (Exception e) { e.printStackTrace(); }
+            for (CompletableFuture<Void> f : futures) {
+                try { f.join(); } catch (Exception e) { e.printStackTrace(); }
+            }
+            // the hash is not thread-safe, so re-bucket on this thread once all batches are done;
+            // buckets cover the whole sweep of this frame so a long frame cannot skip past the head
+            for (Monster m : monsters) {
+                monsterHash.update(m.handle, Math.min(m.px, m.x), Math.min(m.py, m.y),
+                    Math.max(m.px, m.x) + m.size, Math.max(m.py, m.y) + m.size);
             }
         }
 
-        if (headHitsMonster()) { triggerGameOver("被妖精撞到"); return; }
+        if (headHitsMonster(true)) { triggerGameOver("被妖精撞到"); return; }
 
         seedTimer += deltaTime;
         if (seedTimer >= nextSeedIn) {
@@ -326,7 +342,7 @@ public class HuluSnakeScene extends Scene {
             } catch (Exception ignored) {}
             while (it.hasNext()) {
                 Seed s = it.next();
-                if (s.gx == nx && s.gy == ny) { consumedSeedId = s.id; it.remove(); grew = true; growColor = s.color; break; }
+                if (s.gx == nx && s.gy == ny) { consumedSeedId = s.id; it.remove(); grew = true; growColor = s.color; seedPool.release(s); break; }
             }
             if (consumedSeedId == null) {
                 System.out.printf("[ReplayDebug] stepCheck -> no seed found at target=(%d,%d) replayTime=%.3f stepAcc=%.3f seedsCount=%d\n",
@@ -371,10 +387,10 @@ public class HuluSnakeScene extends Scene {
                 prevX = tmpX; prevY = tmpY;
             }
 
-            if (grew) body.add(new Seg(prevX, prevY, growColor));
+            if (grew) body.add(segPool.acquire().set(prevX, prevY, growColor));
                 if (grew) System.out.printf("[ReplayDebug] grew -> added seg at (%d,%d) newBodySize=%d (headBefore=(%d,%d) headAfter=(%d,%d))\n", prevX, prevY, body.size(), headBeforeX, headBeforeY, nx, ny);
             headX = nx; headY = ny;
-                    if (headHitsMonster()) { triggerGameOver("被妖精撞到"); return; }
+                    if (headHitsMonster(false)) { triggerGameOver("被妖精撞到"); return; }
         }
     }
 
@@ -433,6 +449,10 @@ public class HuluSnakeScene extends Scene {
     }
 
     private void resetGame() {
+        for (Seg s : body) segPool.release(s);
+        for (Seed s : seeds) seedPool.release(s);
+        for (Monster m : monsters) monsterPool.release(m);
+        monsterHash.clear();
         body.clear(); seeds.clear(); monsters.clear();
         headX = cols / 2; headY = rows / 2; dir = Dir.RIGHT; pendingDir = Dir.RIGHT;
         for (int i = 0; i < 3; i++) spawnSeed();
@@ -472,7 +492,7 @@ public class HuluSnakeScene extends Scene {
             // but we must keep RNG/seedCounter progression identical to the original, so we incremented seedCounter above.
             return;
         }
-        Seed newSeed = new Seed(id, gx, gy, c);
+        Seed newSeed = seedPool.acquire().set(id, gx, gy, c);
         seeds.add(newSeed);
         try {
             if (recordingService != null && recordingService.isRecording()) {
@@ -486,7 +506,7 @@ public class HuluSnakeScene extends Scene {
     }
 
     private void spawnMonster() {
-        Monster m = new Monster();
+        Monster m = monsterPool.acquire();
         int sizeRand = random.nextInt(10);
         m.size = 16 + sizeRand;
         float xf = random.nextFloat(); float yf = random.nextFloat();
@@ -495,20 +515,30 @@ public class HuluSnakeScene extends Scene {
         float speedRand = random.nextFloat(); float angleRand = random.nextFloat();
         float speed = 60 + speedRand * 80;
         float angle = angleRand * (float)Math.PI * 2f;
+        // keep exact Math trig here: replays re-simulate monsters from the seed, so the
+        // velocities must match the ones produced when the recording was made
         m.vx = (float)Math.cos(angle) * speed; m.vy = (float)Math.sin(angle) * speed;
+        m.px = m.x; m.py = m.y;
         monsters.add(m);
+        m.handle = monsterHash.insert(m, m.x, m.y, m.x + m.size, m.y + m.size);
         System.out.printf("[ReplayDebug] spawnMonster RNG -> sizeRand=%d xf=%.3f yf=%.3f speedRand=%.3f angleRand=%.3f seedCounter=%d simulate=%b\n",
             sizeRand, xf, yf, speedRand, angleRand, seedCounter, this.simulateMode);
     }
 
     private boolean collideBody(int gx, int gy) { for (Seg s : body) if (s.x == gx && s.y == gy) return true; return false; }
 
-    private boolean headHitsMonster() {
+    // swept: test each monster's motion this frame (px,py -> x,y) against the head instead of only its end position
+    private boolean headHitsMonster(boolean swept) {
         float hx = headX * cell + cell * 0.5f; float hy = headY * cell + cell * 0.5f; float rHead = cell * 0.5f;
-        for (Monster m : monsters) {
-            float mx = m.x + m.size * 0.5f; float my = m.y + m.size * 0.5f;
-            float dx = hx - mx, dy = hy - my; float dist2 = dx*dx + dy*dy; float rad = rHead + m.size * 0.5f;
-            if (dist2 < rad * rad) return true;
+        // a monster's circle is inscribed in its AABB, so any hit overlaps the head circle's query
+        nearbyMonsters.clear();
+        monsterHash.queryRadius(hx, hy, rHead, nearbyMonsters);
+        for (int i = 0, n = nearbyMonsters.size(); i < n; i++) {
+            Monster m = nearbyMonsters.get(i);
+            float r = m.size * 0.5f;
+            if (swept) {
+                if (Collider.sweepCircleCircle(m.px + r, m.py + r, r, m.x - m.px, m.y - m.py, hx, hy, rHead) >= 0) return true;
+            } else if (Collider.circleCircle(hx, hy, rHead, m.x + r, m.y + r, r)) return true;
         }
         return false;
     }
@@ -517,17 +547,21 @@ public class HuluSnakeScene extends Scene {
 
     private float lerp(float a, float b, float t) { return a + (b - a) * t; }
 
+    // pool hit/miss statistics for seg/seed/monster
+    public String getPoolStats() {
+        return "seg[" + segPool + "] seed[" + seedPool + "] monster[" + monsterPool + "]";
+    }
+
     @Override
     public void clear() {
         super.clear();
-        if (executor != null) executor.shutdownNow();
         try { if (recordingService != null && recordingService.isRecording()) recordingService.stop(); } catch (Exception ignored) {}
     }
 
     // Nested helper types
     static enum Dir { LEFT, RIGHT, UP, DOWN }
     static class Color { float r,g,b,a; Color(float r, float g, float b, float a) { this.r=r; this.g=g; this.b=b; this.a=a; } }
-    static class Seg { int x,y; Color color; Seg(int x, int y, Color c) { this.x=x; this.y=y; this.color=c; } }
-    static class Seed { String id; int gx, gy; Color color; Seed(String id, int gx, int gy, Color color) { this.id = id; this.gx=gx; this.gy=gy; this.color=color; } }
-    static class Monster { float x,y; float vx, vy; float size; }
+    static class Seg { int x,y; Color color; Seg() {} Seg(int x, int y, Color c) { set(x, y, c); } Seg set(int x, int y, Color c) { this.x=x; this.y=y; this.color=c; return this; } }
+    static class Seed { String id; int gx, gy; Color color; Seed() {} Seed(String id, int gx, int gy, Color color) { set(id, gx, gy, color); } Seed set(String id, int gx, int gy, Color color) { this.id = id; this.gx=gx; this.gy=gy; this.color=color; return this; } }
+    static class Monster { float x,y; float px, py; float vx, vy; float size; int handle = -1; }
 }
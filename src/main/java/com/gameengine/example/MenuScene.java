@@ -4,7 +4,7 @@ import com.gameengine.core.GameEngine;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
-import com.gameengine.graphics.Renderer;
+import com.gameengine.graphics.IRenderer;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -13,7 +13,7 @@ import java.util.List;
 public class MenuScene extends Scene {
     public enum MenuOption { START_GAME, REPLAY, EXIT }
 
-    private Renderer renderer;
+    private IRenderer renderer;
     private InputManager inputManager;
     private GameEngine engine;
     private int selectedIndex;
@@ -32,7 +32,6 @@ public class ReplayLauncher {
         ReplayScene replay = new ReplayScene(engine, path);
         engine.setScene(replay);
         engine.run();
-        engine.cleanup();
     }
 }
 
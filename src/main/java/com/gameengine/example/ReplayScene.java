@@ -2,9 +2,13 @@ package com.gameengine.example;
 
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.EntityId;
+import com.gameengine.core.EntityMap;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.GameObjectPool;
 import com.gameengine.core.GameEngine;
-import com.gameengine.graphics.Renderer;
+import com.gameengine.core.TagRegistry;
+import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 import com.gameengine.recording.FileRecordingStorage;
 import com.gameengine.recording.RecordingJson;
@@ -16,15 +20,23 @@ import java.util.*;
 
 public class ReplayScene extends Scene {
     private final GameEngine engine;
-    private final Renderer renderer;
+    private final IRenderer renderer;
     private final RecordingStorage storage = new FileRecordingStorage();
     private final String path; // null -> show file list
 
     private final List<Keyframe> keyframes = new ArrayList<>();
-    private final Map<String, GameObject> objects = new HashMap<>();
+    // recorded entity id -> replay object
+    private final EntityMap<GameObject> objects = new EntityMap<>();
     private final java.util.List<GameObject> objectList = new ArrayList<>();
-    // pending removals: id -> scheduled removal time (seconds)
-    private final Map<String, Double> pendingRemovals = new HashMap<>();
+    // replay object -> its recorded key and slot in objectList, so retire() never scans
+    private static final class Binding { int key = EntityId.NONE; int listIndex = -1; }
+    private final Map<GameObject, Binding> bindings = new IdentityHashMap<>();
+    // pending removals: recorded entity id -> scheduled removal time (seconds)
+    private final EntityMap<Double> pendingRemovals = new EntityMap<>();
+    // replay objects (transform + render) are pooled: segments appearing/disappearing reuse instances
+    private final GameObjectPool objectPool = new GameObjectPool(this::newReplayObject, null, 1024);
+    // old recordings have no "eid": names are interned to synthetic ids once at load time
+    private final Map<String, Integer> legacyIds = new HashMap<>();
     // input events loaded from recording
     private static class InputEvent { double t; int[] keys; boolean release = false; }
     private final List<InputEvent> inputEvents = new ArrayList<>();
@@ -35,6 +47,11 @@ public class ReplayScene extends Scene {
     private Integer recordingWidth = null;
     private Integer recordingHeight = null;
     private static final boolean DEBUG_REPLAY = Boolean.getBoolean("replay.debug");
+    // snake body segments are interpolated along grid axes instead of straight lines
+    private static final long SEGMENT = TagRegistry.bitOf("Segment");
+    // per-frame scratch reused by the interpolation path
+    private final List<EntityInfo> segA = new ArrayList<>(), segB = new ArrayList<>();
+    private final Vector2 scratch = new Vector2();
 
     // file list UI
     private List<File> recordings = new ArrayList<>();
@@ -55,7 +72,7 @@ public class ReplayScene extends Scene {
         time = 0.0;
         playing = false;
         keyframes.clear();
-        objects.clear();
+        unbindAll();
         if (path != null) {
             loadRecording(path);
         }
@@ -104,19 +121,16 @@ public class ReplayScene extends Scene {
                 nextInputIndex++;
             }
             // process pending removals that expired
-            Iterator<Map.Entry<String, Double>> itRem = pendingRemovals.entrySet().iterator();
-            while (itRem.hasNext()) {
-                Map.Entry<String, Double> e = itRem.next();
-                String rid = e.getKey();
-                double when = e.getValue();
+            for (int r = pendingRemovals.size() - 1; r >= 0; r--) {
+                int rid = pendingRemovals.idAt(r);
+                double when = pendingRemovals.valueAt(r);
                 if (time >= when) {
                     GameObject robj = objects.get(rid);
                     if (robj != null) {
-                        if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f id=%s removed (delayed)", time, rid));
-                        robj.setActive(false);
-                        objects.remove(rid);
+                        if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f id=%s removed (delayed)", time, robj.getName()));
+                        retire(robj);
                     }
-                    itRem.remove();
+                    pendingRemovals.removeAt(r);
                 }
             }
             double lastT = keyframes.get(keyframes.size() - 1).t;
@@ -134,40 +148,42 @@ public class ReplayScene extends Scene {
             if (alpha > 1.0) alpha = 1.0;
 
             // 处理链式实体（seg0, seg1 ...）使用索引对齐，保证顺序一致，避免尾巴割裂
-            List<EntityInfo> segA = new ArrayList<>(), segB = new ArrayList<>();
-            for (EntityInfo ei : a.entities) if (isSegmentId(ei.id)) segA.add(ei);
-            for (EntityInfo ei : b.entities) if (isSegmentId(ei.id)) segB.add(ei);
+            segA.clear(); segB.clear();
+            for (EntityInfo ei : a.entities) if ((ei.tags & SEGMENT) != 0L) segA.add(ei);
+            for (EntityInfo ei : b.entities) if ((ei.tags & SEGMENT) != 0L) segB.add(ei);
             int segN = Math.min(segA.size(), segB.size());
             for (int i = 0; i < segN; i++) {
                 EntityInfo ea = segA.get(i);
                 EntityInfo eb = segB.get(i);
-                double[] xy = interpolateManhattan(ea.x, ea.y, eb.x, eb.y, alpha);
-                float x = (float)xy[0], y = (float)xy[1];
+                Vector2 xy = interpolateManhattan(ea.x, ea.y, eb.x, eb.y, alpha, scratch);
+                float x = xy.x, y = xy.y;
                 String id = ea.id != null ? ea.id : (eb.id != null ? eb.id : ("seg"+i));
-                GameObject obj = objects.get(id);
+                int eid = ea.eid != EntityId.NONE ? ea.eid : eb.eid;
+                GameObject obj = objects.get(eid);
                 if (obj == null) {
                     obj = buildObjectFromEntity(id, eb != null ? eb.rt : ea.rt, (float)ea.w, (float)ea.h, ea.color);
                     if (obj != null) {
                         if (!obj.hasComponent(TransformComponent.class)) obj.addComponent(new TransformComponent(new Vector2(x,y)));
-                        else obj.getComponent(TransformComponent.class).setPosition(new Vector2(x,y));
+                        else obj.getComponent(TransformComponent.class).setPosition(x, y);
                         addGameObject(obj);
-                        objects.put(id, obj);
+                        if (eid != EntityId.NONE) bind(eid, obj);
                     }
                 } else {
                     TransformComponent tc = obj.getComponent(TransformComponent.class);
-                    if (tc != null) tc.setPosition(new Vector2(x,y));
+                    if (tc != null) tc.setPosition(x, y);
                 }
             }
             // handle leftover segments present only in a (disappear) or only in b (appear)
             if (segA.size() > segN) {
                 for (int i = segN; i < segA.size(); i++) {
                     String id = segA.get(i).id;
-                    GameObject obj = objects.get(id);
+                    int eid = segA.get(i).eid;
+                    GameObject obj = objects.get(eid);
                     if (obj != null) {
                         // schedule delayed removal to avoid flicker, only if not already scheduled
-                        if (!pendingRemovals.containsKey(id)) {
+                        if (!pendingRemovals.containsKey(eid)) {
                             double when = time + 0.25; // 0.25s grace
-                            pendingRemovals.put(id, when);
+                            pendingRemovals.put(eid, when);
                             if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f seg %s scheduled removal at %.3f", time, id, when));
                         }
                     }
@@ -177,11 +193,11 @@ public class ReplayScene extends Scene {
                 for (int i = segN; i < segB.size(); i++) {
                     EntityInfo eb = segB.get(i);
                     String id = eb.id != null ? eb.id : ("seg"+i);
-                    if (!objects.containsKey(id)) {
+                    if (!objects.containsKey(eb.eid)) {
                         GameObject obj = buildObjectFromEntity(id, eb.rt, (float)eb.w, (float)eb.h, eb.color);
-                        if (obj != null) { obj.addComponent(new TransformComponent(new Vector2((float)eb.x, (float)eb.y))); addGameObject(obj); objects.put(id, obj); if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f seg %s created", time, id)); }
+                        if (obj != null) { obj.getComponent(TransformComponent.class).setPosition((float)eb.x, (float)eb.y); addGameObject(obj); if (eb.eid != EntityId.NONE) bind(eb.eid, obj); if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f seg %s created", time, id)); }
                         // cancel any pending removal for this id
-                        pendingRemovals.remove(id);
+                        pendingRemovals.remove(eb.eid);
                     }
                 }
             }
@@ -222,6 +238,7 @@ public class ReplayScene extends Scene {
         try {
             keyframes.clear();
             inputEvents.clear();
+            legacyIds.clear();
             nextInputIndex = 0;
             recordingSeed = null;
             Iterable<String> lines = storage.readLines(p);
@@ -268,8 +285,11 @@ public class ReplayScene extends Scene {
                                 for (int i = 0; i < 4; i++) col[i] = (float)RecordingJson.parseDouble(cs[i]);
                             }
                         }
-                        EntityInfo ei = new EntityInfo(id, x, y, rt, w, h, col);
+                        String eidField = RecordingJson.field(ent, "eid");
+                        int eid = eidField != null ? (int) RecordingJson.parseDouble(eidField) : legacyId(id);
+                        EntityInfo ei = new EntityInfo(id, eid, x, y, rt, w, h, col);
                         kf.entities.add(ei);
+                        if (eid != EntityId.NONE) kf.byId.put(eid, ei);
                     }
                     keyframes.add(kf);
                 } else if ("input".equals(t)) {
@@ -377,7 +397,7 @@ public class ReplayScene extends Scene {
             playing = true;
             // clear any existing game objects in scene
             clear();
-            objects.clear();
+            unbindAll();
             // build fixed object list from the first keyframe to avoid id/index drift
             buildObjectsFromFirstKeyframe();
         } catch (IOException e) {
@@ -386,11 +406,19 @@ public class ReplayScene extends Scene {
         }
     }
 
+    private GameObject newReplayObject() {
+        GameObject obj = new GameObject();
+        obj.addComponent(new TransformComponent(new Vector2(0,0)));
+        RenderComponent rc = obj.addComponent(new RenderComponent());
+        rc.setRenderer(renderer);
+        return obj;
+    }
+
     private GameObject buildObjectFromEntity(String id, String rt, float w, float h, float[] col) {
-        GameObject obj = new GameObject(id != null ? id : UUID.randomUUID().toString());
+        GameObject obj = objectPool.acquire();
+        obj.setName(id != null ? id : UUID.randomUUID().toString());
         // ensure transform
-        TransformComponent tc = new TransformComponent(new Vector2(0,0));
-        obj.addComponent(tc);
+        obj.getComponent(TransformComponent.class).setPosition(new Vector2(0,0));
         // render component
         float rw = (w > 0) ? w : 16f;
         float rh = (h > 0) ? h : 16f;
@@ -403,9 +431,10 @@ public class ReplayScene extends Scene {
             else if ("LINE".equals(s)) rtType = RenderComponent.RenderType.LINE;
             else rtType = RenderComponent.RenderType.RECTANGLE;
         }
-        RenderComponent rc = new RenderComponent(rtType, new Vector2(rw, rh), new RenderComponent.Color(r, g, b, a));
-        rc.setRenderer(renderer);
-        obj.addComponent(rc);
+        RenderComponent rc = obj.getComponent(RenderComponent.class);
+        rc.setRenderType(rtType);
+        rc.setSize(new Vector2(rw, rh));
+        rc.setColor(r, g, b, a);
         return obj;
     }
 
@@ -413,33 +442,34 @@ public class ReplayScene extends Scene {
      * 曼哈顿风格插值：优先沿一个轴移动，再沿另一个轴移动，避免斜线移动。
      * 返回长度为 2 的数组 {x,y}
      */
-    private static double[] interpolateManhattan(double ax, double ay, double bx, double by, double t) {
+    // writes the result into out (no allocation); returns out
+    private static Vector2 interpolateManhattan(double ax, double ay, double bx, double by, double t, Vector2 out) {
         double dx = bx - ax;
         double dy = by - ay;
         double adx = Math.abs(dx);
         double ady = Math.abs(dy);
-        if (adx <= 1e-6 && ady <= 1e-6) return new double[]{ax, ay};
+        if (adx <= 1e-6 && ady <= 1e-6) return out.set((float) ax, (float) ay);
         if (adx <= 1e-6) {
             // only y changes
             double y = ay + (by - ay) * t;
-            return new double[]{ax, y};
+            return out.set((float) ax, (float) y);
         }
         if (ady <= 1e-6) {
             // only x changes
             double x = ax + (bx - ax) * t;
-            return new double[]{x, ay};
+            return out.set((float) x, (float) ay);
         }
         double man = adx + ady;
         double px = adx / man; // proportion of total distance used by x
         if (t <= px) {
             double frac = (px <= 0.0) ? 0.0 : (t / px);
             double x = ax + dx * frac;
-            return new double[]{x, ay};
+            return out.set((float) x, (float) ay);
         } else {
             double frac = (1.0 - px <= 0.0) ? 1.0 : ((t - px) / (1.0 - px));
             double x = bx;
             double y = ay + dy * frac;
-            return new double[]{x, y};
+            return out.set((float) x, (float) y);
         }
     }
 
@@ -450,16 +480,56 @@ public class ReplayScene extends Scene {
             GameObject obj = new GameObject("RObj#" + objectList.size());
             obj.addComponent(new TransformComponent(new Vector2(0, 0)));
             addGameObject(obj);
-            objectList.add(obj);
+            addToList(obj);
         }
         while (objectList.size() > n) {
-            GameObject obj = objectList.remove(objectList.size() - 1);
-            obj.setActive(false);
+            retire(objectList.get(objectList.size() - 1));
         }
     }
 
-    private void buildObjectsFromFirstKeyframe() {
+    // map a recorded key to obj, dropping the key obj had before and the object the key had before:
+    // the index stays one-to-one, so retire() only has one entry to remove
+    private void bind(int key, GameObject obj) {
+        Binding b = bindings.computeIfAbsent(obj, o -> new Binding());
+        if (b.key == key) return;
+        if (b.key != EntityId.NONE) objects.remove(b.key);
+        GameObject prev = objects.get(key);
+        if (prev != null) bindings.get(prev).key = EntityId.NONE;
+        objects.put(key, obj);
+        b.key = key;
+    }
+
+    private void addToList(GameObject obj) {
+        bindings.computeIfAbsent(obj, o -> new Binding()).listIndex = objectList.size();
+        objectList.add(obj);
+    }
+
+    // drop the object's index entries before deactivating it: the scene hands deactivated
+    // pooled objects back to objectPool, and a stale entry would map a second entity onto it
+    private void retire(GameObject obj) {
+        Binding b = bindings.remove(obj);
+        if (b != null) {
+            if (b.key != EntityId.NONE) objects.remove(b.key);
+            if (b.listIndex >= 0) {
+                // swap-remove: the last object takes over the freed slot
+                GameObject last = objectList.remove(objectList.size() - 1);
+                if (last != obj) {
+                    objectList.set(b.listIndex, last);
+                    bindings.get(last).listIndex = b.listIndex;
+                }
+            }
+        }
+        obj.setActive(false);
+    }
+
+    private void unbindAll() {
+        objects.clear();
         objectList.clear();
+        bindings.clear();
+    }
+
+    private void buildObjectsFromFirstKeyframe() {
+        unbindAll();
         if (keyframes.isEmpty()) return;
         Keyframe k0 = keyframes.get(0);
         clear();
@@ -475,44 +545,39 @@ public class ReplayScene extends Scene {
                 else obj.getComponent(TransformComponent.class).setPosition(new Vector2((float)ei.x, (float)ei.y));
                 addGameObject(obj);
             }
-            objectList.add(obj);
-            if (ei.id != null) objects.put(ei.id, obj);
+            addToList(obj);
+            if (ei.eid != EntityId.NONE) bind(ei.eid, obj);
         }
     }
 
     private void updateInterpolatedPositions(Keyframe a, Keyframe b, double alpha) {
-        // Build id->entity maps for robust matching (prefer id matching over index matching)
-        java.util.Map<String, EntityInfo> mapA = new java.util.HashMap<>();
-        java.util.Map<String, EntityInfo> mapB = new java.util.HashMap<>();
-        for (EntityInfo ei : a.entities) if (ei != null && ei.id != null) mapA.put(ei.id, ei);
-        for (EntityInfo ei : b.entities) if (ei != null && ei.id != null) mapB.put(ei.id, ei);
+        // id->entity maps are built once per keyframe at load time (prefer id matching over index matching)
+        EntityMap<EntityInfo> mapA = a.byId;
+        EntityMap<EntityInfo> mapB = b.byId;
 
         int n = Math.max(a.entities.size(), b.entities.size());
         ensureObjectCount(n);
 
-        // build name->object map for objectList for quick lookup
-        java.util.Map<String, GameObject> nameToObj = new java.util.HashMap<>();
-        for (GameObject go : objectList) if (go != null) nameToObj.put(go.getName(), go);
-
         for (int i = 0; i < n; i++) {
             EntityInfo ea = (i < a.entities.size()) ? a.entities.get(i) : null;
             EntityInfo eb = (i < b.entities.size()) ? b.entities.get(i) : null;
 
             // prefer matching by id if available
-            String id = (ea != null && ea.id != null) ? ea.id : (eb != null ? eb.id : null);
+            int id = (ea != null && ea.eid != EntityId.NONE) ? ea.eid : (eb != null ? eb.eid : EntityId.NONE);
             EntityInfo useA = null, useB = null;
-            if (id != null) {
-                useA = mapA.getOrDefault(id, ea);
-                useB = mapB.getOrDefault(id, eb);
+            if (id != EntityId.NONE) {
+                EntityInfo ma = mapA.get(id), mb = mapB.get(id);
+                useA = ma != null ? ma : ea;
+                useB = mb != null ? mb : eb;
             } else {
                 useA = ea; useB = eb;
             }
 
             double x = 0, y = 0;
             if (useA != null && useB != null) {
-                if (isSegmentId(useA.id) || isSegmentId(useB.id)) {
-                    double[] xy = interpolateManhattan(useA.x, useA.y, useB.x, useB.y, alpha);
-                    x = xy[0]; y = xy[1];
+                if (((useA.tags | useB.tags) & SEGMENT) != 0L) {
+                    Vector2 xy = interpolateManhattan(useA.x, useA.y, useB.x, useB.y, alpha, scratch);
+                    x = xy.x; y = xy.y;
                 } else {
                     x = lerp(useA.x, useB.x, alpha);
                     y = lerp(useA.y, useB.y, alpha);
@@ -524,7 +589,7 @@ public class ReplayScene extends Scene {
             }
 
             GameObject obj = null;
-            if (id != null) obj = nameToObj.get(id);
+            if (id != EntityId.NONE) obj = objects.get(id);
             if (obj == null) {
                 // fallback to positional mapping in objectList
                 if (i < objectList.size()) obj = objectList.get(i);
@@ -533,18 +598,19 @@ public class ReplayScene extends Scene {
             if (obj != null) {
                 TransformComponent tc = obj.getComponent(TransformComponent.class);
                 if (tc == null) { obj.addComponent(new TransformComponent(new Vector2((float)x, (float)y))); }
-                else tc.setPosition(new Vector2((float)x, (float)y));
-                if (id != null) objects.put(id, obj);
+                else tc.setPosition((float)x, (float)y);
+                if (id != EntityId.NONE) bind(id, obj);
             }
         }
         // schedule removal for extras present in a but not in b
         if (a.entities.size() > n) {
             for (int i = n; i < a.entities.size(); i++) {
-                String id = a.entities.get(i).id;
-                if (id != null && !pendingRemovals.containsKey(id) && objects.containsKey(id)) {
+                EntityInfo ei = a.entities.get(i);
+                int id = ei.eid;
+                if (id != EntityId.NONE && !pendingRemovals.containsKey(id) && objects.containsKey(id)) {
                     double when = time + 0.25;
                     pendingRemovals.put(id, when);
-                    if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f id=%s scheduled removal at %.3f", time, id, when));
+                    if (DEBUG_REPLAY) System.out.println(String.format("[Replay] t=%.3f id=%s scheduled removal at %.3f", time, ei.id, when));
                 }
             }
         }
@@ -553,18 +619,32 @@ public class ReplayScene extends Scene {
     private static class Keyframe {
         double t;
         List<EntityInfo> entities = new ArrayList<>();
+        EntityMap<EntityInfo> byId = new EntityMap<>();
         Keyframe(double t) { this.t = t; }
     }
 
     private static class EntityInfo {
-        String id; double x,y; String rt; double w,h; float[] color;
-        EntityInfo(String id, double x, double y, String rt, double w, double h, float[] color) {
-            this.id = id; this.x = x; this.y = y; this.rt = rt; this.w = w; this.h = h; this.color = color;
+        // id: recorded name (display/debug only); eid: recorded entity id used for matching
+        // tags: category bits derived from the name once at parse time
+        String id; int eid; long tags; double x,y; String rt; double w,h; float[] color;
+        EntityInfo(String id, int eid, double x, double y, String rt, double w, double h, float[] color) {
+            this.id = id; this.eid = eid; this.x = x; this.y = y; this.rt = rt; this.w = w; this.h = h; this.color = color;
+            this.tags = isSegmentId(id) ? SEGMENT : 0L;
+        }
+    }
+
+    private int legacyId(String name) {
+        if (name == null) return EntityId.NONE;
+        Integer id = legacyIds.get(name);
+        if (id == null) {
+            id = EntityId.of(legacyIds.size(), 1);
+            legacyIds.put(name, id);
         }
+        return id;
     }
 
     private static boolean isSegmentId(String id) {
-        if (id == null) return false;
-        return id.startsWith("seg") || id.startsWith("segment") || id.matches("seg\\d+");
+        // "segment*" and "seg<n>" are both covered by the prefix check
+        return id != null && id.startsWith("seg");
     }
 }
@@ -1,6 +1,7 @@
 package com.gameengine.graphics;
 
 import com.gameengine.input.InputManager;
+import com.gameengine.math.FastMath;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.opengl.GL;
@@ -146,6 +147,11 @@ public class GPURenderer implements IRenderer {
         });
     }
     
+    @Override
+    public boolean isThreadBound() {
+        return true;
+    }
+    
     @Override
     public void beginFrame() {
         if (!initialized) return;
@@ -195,6 +201,20 @@ public class GPURenderer implements IRenderer {
         }
     }
     
+    @Override
+    public void drawQuad(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+                         float r, float g, float b, float a) {
+        if (!initialized) return;
+        
+        GL11.glColor4f(r, g, b, a);
+        GL11.glBegin(GL11.GL_QUADS);
+        GL11.glVertex2f(x0, y0);
+        GL11.glVertex2f(x1, y1);
+        GL11.glVertex2f(x2, y2);
+        GL11.glVertex2f(x3, y3);
+        GL11.glEnd();
+    }
+    
     @Override
     public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
         if (!initialized) return;
@@ -203,11 +223,10 @@ public class GPURenderer implements IRenderer {
         GL11.glBegin(GL11.GL_TRIANGLE_FAN);
         GL11.glVertex2f(x, y);
         
-        for (int i = 0; i <= segments; i++) {
-            float angle = (float) (i * 2.0 * Math.PI / segments);
-            float px = x + (float) (radius * Math.cos(angle));
-            float py = y + (float) (radius * Math.sin(angle));
-            GL11.glVertex2f(px, py);
+        // 单位圆顶点按段数缓存，每帧只做缩放平移
+        float[] unit = FastMath.unitCircle(Math.max(3, segments));
+        for (int i = 0; i < unit.length; i += 2) {
+            GL11.glVertex2f(x + radius * unit[i], y + radius * unit[i + 1]);
         }
         GL11.glEnd();
     }
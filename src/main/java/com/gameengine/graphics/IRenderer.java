@@ -7,6 +7,11 @@ public interface IRenderer {
     void drawRect(float x, float y, float width, float height, float r, float g, float b, float a);
     void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a);
     void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a);
+    /**
+     * 绘制任意凸四边形，顶点按顺序给出（用于旋转/缩放后的矩形）
+     */
+    void drawQuad(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+                  float r, float g, float b, float a);
     void drawText(float x, float y, String text, float r, float g, float b, float a);
     
     boolean shouldClose();
@@ -16,5 +21,13 @@ public interface IRenderer {
     int getWidth();
     int getHeight();
     String getTitle();
+    
+    /**
+     * 渲染调用是否必须留在创建渲染器的线程上（如 GL 上下文），
+     * 为 true 时引擎在调用 run() 的线程上运行游戏循环
+     */
+    default boolean isThreadBound() {
+        return false;
+    }
 }
 
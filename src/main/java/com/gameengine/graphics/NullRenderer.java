@@ -0,0 +1,98 @@
+package com.gameengine.graphics;
+
+/**
+ * 无窗口渲染器：不创建任何窗口或图形上下文，绘制调用只计数。
+ * 用于在没有显示设备的环境（CI/服务器）中运行场景。
+ */
+public class NullRenderer implements IRenderer {
+    private final int width;
+    private final int height;
+    private final String title;
+    private volatile boolean closed;
+    private long drawCalls;
+    private long frames;
+    
+    public NullRenderer(int width, int height, String title) {
+        this.width = width;
+        this.height = height;
+        this.title = title;
+    }
+    
+    @Override
+    public void beginFrame() {
+    }
+    
+    @Override
+    public void endFrame() {
+        frames++;
+    }
+    
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        drawCalls++;
+    }
+    
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        drawCalls++;
+    }
+    
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        drawCalls++;
+    }
+    
+    @Override
+    public void drawQuad(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+                         float r, float g, float b, float a) {
+        drawCalls++;
+    }
+    
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        drawCalls++;
+    }
+    
+    @Override
+    public boolean shouldClose() {
+        return closed;
+    }
+    
+    @Override
+    public void pollEvents() {
+    }
+    
+    @Override
+    public void cleanup() {
+        closed = true;
+    }
+    
+    @Override
+    public int getWidth() {
+        return width;
+    }
+    
+    @Override
+    public int getHeight() {
+        return height;
+    }
+    
+    @Override
+    public String getTitle() {
+        return title;
+    }
+    
+    /**
+     * 累计的绘制调用次数
+     */
+    public long getDrawCalls() {
+        return drawCalls;
+    }
+    
+    /**
+     * 累计完成的帧数
+     */
+    public long getFrames() {
+        return frames;
+    }
+}
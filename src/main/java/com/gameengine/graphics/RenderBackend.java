@@ -1,6 +1,9 @@
 package com.gameengine.graphics;
 
 public enum RenderBackend {
-    GPU
+    GPU,
+    // Swing 窗口（Java2D）
+    SWING,
+    // 无窗口，所有绘制为空操作，用于批量模拟/CI
+    HEADLESS
 }
-
@@ -10,16 +10,19 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * 渲染器
  */
-public class Renderer extends JFrame {
+public class Renderer extends JFrame implements IRenderer {
     private int width;
     private int height;
     private String title;
     private GamePanel gamePanel;
     private InputManager inputManager;
+    // EDT 上收到的输入事件先入队，由游戏循环线程在 pollEvents 中统一投递给 InputManager
+    private final ConcurrentLinkedQueue<Runnable> pendingInput = new ConcurrentLinkedQueue<>();
     
     public Renderer(int width, int height, String title) {
         this.width = width;
@@ -55,12 +58,14 @@ public class Renderer extends JFrame {
         gamePanel.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                inputManager.onKeyPressed(e.getKeyCode());
+                int keyCode = e.getKeyCode();
+                pendingInput.add(() -> inputManager.onKeyPressed(keyCode));
             }
 
             @Override
             public void keyReleased(KeyEvent e) {
-                inputManager.onKeyReleased(e.getKeyCode());
+                int keyCode = e.getKeyCode();
+                pendingInput.add(() -> inputManager.onKeyReleased(keyCode));
             }
         });
         
@@ -68,19 +73,22 @@ public class Renderer extends JFrame {
         gamePanel.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
-                inputManager.onMousePressed(e.getButton());
+                int button = e.getButton();
+                pendingInput.add(() -> inputManager.onMousePressed(button));
             }
 
             @Override
             public void mouseReleased(MouseEvent e) {
-                inputManager.onMouseReleased(e.getButton());
+                int button = e.getButton();
+                pendingInput.add(() -> inputManager.onMouseReleased(button));
             }
         });
 
         gamePanel.addMouseMotionListener(new MouseAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
-                inputManager.onMouseMoved(e.getX(), e.getY());
+                int x = e.getX(), y = e.getY();
+                pendingInput.add(() -> inputManager.onMouseMoved(x, y));
             }
         });
         
@@ -97,9 +105,10 @@ public class Renderer extends JFrame {
     }
     
     /**
-     * 结束渲染帧
+     * 结束渲染帧：把本帧绘制列表交给 EDT 后请求重绘
      */
     public void endFrame() {
+        gamePanel.swapBuffers();
         gamePanel.repaint();
     }
     
@@ -123,6 +132,14 @@ public class Renderer extends JFrame {
     public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
         gamePanel.addDrawable(new LineDrawable(x1, y1, x2, y2, r, g, b, a));
     }
+    
+    /**
+     * 绘制四边形（旋转/缩放后的矩形）
+     */
+    public void drawQuad(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+                         float r, float g, float b, float a) {
+        gamePanel.addDrawable(new QuadDrawable(x0, y0, x1, y1, x2, y2, x3, y3, r, g, b, a));
+    }
 
     /**
      * 绘制文本（简单封装，使用默认字体）
@@ -131,6 +148,11 @@ public class Renderer extends JFrame {
         gamePanel.addDrawable(new TextDrawable(x, y, text, new Color(r, g, b, a)));
     }
     
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        drawText((int) x, (int) y, text, r, g, b, a);
+    }
+    
     /**
      * 检查窗口是否应该关闭
      */
@@ -164,7 +186,11 @@ public class Renderer extends JFrame {
      * 处理事件
      */
     public void pollEvents() {
-        // Swing自动处理事件
+        // Swing 在 EDT 上派发事件，这里把排队的输入投递到游戏循环线程
+        Runnable event;
+        while ((event = pendingInput.poll()) != null) {
+            event.run();
+        }
     }
     
     /**
@@ -194,7 +220,10 @@ public class Renderer extends JFrame {
      * 游戏面板类
      */
     private class GamePanel extends JPanel {
+        // 双缓冲：游戏循环线程写 drawables，EDT 只读 front，交换时加锁
         private List<Drawable> drawables = new ArrayList<>();
+        private List<Drawable> front = new ArrayList<>();
+        private final Object lock = new Object();
         
         public GamePanel() {
             setPreferredSize(new Dimension(width, height));
@@ -209,14 +238,24 @@ public class Renderer extends JFrame {
             drawables.add(drawable);
         }
         
+        public void swapBuffers() {
+            synchronized (lock) {
+                List<Drawable> tmp = front;
+                front = drawables;
+                drawables = tmp;
+            }
+        }
+        
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             Graphics2D g2d = (Graphics2D) g;
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             
-            for (Drawable drawable : drawables) {
-                drawable.draw(g2d);
+            synchronized (lock) {
+                for (Drawable drawable : front) {
+                    drawable.draw(g2d);
+                }
             }
         }
     }
@@ -271,6 +310,28 @@ public class Renderer extends JFrame {
         }
     }
     
+    /**
+     * 四边形绘制类
+     */
+    private static class QuadDrawable implements Drawable {
+        private final int[] xs;
+        private final int[] ys;
+        private Color color;
+        
+        public QuadDrawable(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3,
+                            float r, float g, float b, float a) {
+            this.xs = new int[] { Math.round(x0), Math.round(x1), Math.round(x2), Math.round(x3) };
+            this.ys = new int[] { Math.round(y0), Math.round(y1), Math.round(y2), Math.round(y3) };
+            this.color = new Color(r, g, b, a);
+        }
+        
+        @Override
+        public void draw(Graphics2D g) {
+            g.setColor(color);
+            g.fillPolygon(xs, ys, 4);
+        }
+    }
+    
     /**
      * 线条绘制类
      */
@@ -5,7 +5,12 @@ public class RendererFactory {
         if (backend == RenderBackend.GPU) {
             return new GPURenderer(width, height, title);
         }
+        if (backend == RenderBackend.SWING) {
+            return new Renderer(width, height, title);
+        }
+        if (backend == RenderBackend.HEADLESS) {
+            return new NullRenderer(width, height, title);
+        }
         throw new IllegalArgumentException("不支持的渲染后端: " + backend);
     }
 }
-
@@ -0,0 +1,101 @@
+package com.gameengine.math;
+
+/**
+ * 二维仿射变换矩阵（3x3 矩阵的前两行，末行恒为 [0 0 1]）：
+ * <pre>
+ * | m00 m01 m02 |
+ * | m10 m11 m12 |
+ * </pre>
+ * 点 (x, y) 变换为 (m00*x + m01*y + m02, m10*x + m11*y + m12)。
+ */
+public class Affine2 {
+    public float m00, m01, m02;
+    public float m10, m11, m12;
+    
+    public Affine2() {
+        setIdentity();
+    }
+    
+    public Affine2(Affine2 other) {
+        set(other);
+    }
+    
+    public Affine2 setIdentity() {
+        m00 = 1; m01 = 0; m02 = 0;
+        m10 = 0; m11 = 1; m12 = 0;
+        return this;
+    }
+    
+    public Affine2 set(Affine2 other) {
+        m00 = other.m00; m01 = other.m01; m02 = other.m02;
+        m10 = other.m10; m11 = other.m11; m12 = other.m12;
+        return this;
+    }
+    
+    /**
+     * 设为 平移 * 旋转 * 缩放（先缩放，再旋转，最后平移）
+     * @param rotation 旋转角（弧度）
+     */
+    public Affine2 setTransform(float tx, float ty, float rotation, float sx, float sy) {
+        float c, s;
+        if (rotation == 0) {
+            c = 1;
+            s = 0;
+        } else {
+            c = (float) Math.cos(rotation);
+            s = (float) Math.sin(rotation);
+        }
+        m00 = c * sx; m01 = -s * sy; m02 = tx;
+        m10 = s * sx; m11 = c * sy; m12 = ty;
+        return this;
+    }
+    
+    /**
+     * this = a * b（先应用 b，再应用 a），a、b 可以是 this
+     */
+    public Affine2 multiply(Affine2 a, Affine2 b) {
+        float n00 = a.m00 * b.m00 + a.m01 * b.m10;
+        float n01 = a.m00 * b.m01 + a.m01 * b.m11;
+        float n02 = a.m00 * b.m02 + a.m01 * b.m12 + a.m02;
+        float n10 = a.m10 * b.m00 + a.m11 * b.m10;
+        float n11 = a.m10 * b.m01 + a.m11 * b.m11;
+        float n12 = a.m10 * b.m02 + a.m11 * b.m12 + a.m12;
+        m00 = n00; m01 = n01; m02 = n02;
+        m10 = n10; m11 = n11; m12 = n12;
+        return this;
+    }
+    
+    public float transformX(float x, float y) {
+        return m00 * x + m01 * y + m02;
+    }
+    
+    public float transformY(float x, float y) {
+        return m10 * x + m11 * y + m12;
+    }
+    
+    /**
+     * 变换点并写入 out（不分配）
+     */
+    public Vector2 transform(float x, float y, Vector2 out) {
+        return out.set(transformX(x, y), transformY(x, y));
+    }
+    
+    /**
+     * 只变换方向（忽略平移）
+     */
+    public Vector2 transformVector(float x, float y, Vector2 out) {
+        return out.set(m00 * x + m01 * y, m10 * x + m11 * y);
+    }
+    
+    /**
+     * 线性部分是否为单位矩阵（无旋转、无缩放）
+     */
+    public boolean isTranslationOnly() {
+        return m00 == 1 && m01 == 0 && m10 == 0 && m11 == 1;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Affine2[%.3f, %.3f, %.2f; %.3f, %.3f, %.2f]", m00, m01, m02, m10, m11, m12);
+    }
+}
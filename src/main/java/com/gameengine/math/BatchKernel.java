@@ -0,0 +1,33 @@
+package com.gameengine.math;
+
+/**
+ * 批量数学内核：在 float[] 列的 [start, end) 区间上做逐元素运算。
+ * 标量实现与向量实现的运算顺序一致（不使用 FMA），结果逐位相同。
+ */
+interface BatchKernel {
+
+    /**
+     * v = (v + (a + g) * dt) * damping；p += v * dt；a = 0
+     */
+    void integrate(float[] x, float[] y, float[] vx, float[] vy,
+                   float[] ax, float[] ay, float[] gx, float[] gy,
+                   float[] damping, float dt, int start, int end);
+    
+    /**
+     * p += v * dt；v *= damping
+     */
+    void integrateDamped(float[] x, float[] y, float[] vx, float[] vy,
+                         float damping, float dt, int start, int end);
+    
+    /**
+     * 触碰或越过 [min[i], max[i]] 边界时速度取反，位置夹回区间内
+     */
+    void bounce(float[] p, float[] v, float[] min, float[] max, int start, int end);
+    
+    /**
+     * a += value
+     */
+    void addScalar(float[] a, float value, int start, int end);
+    
+    String name();
+}
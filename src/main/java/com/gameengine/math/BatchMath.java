@@ -0,0 +1,67 @@
+package com.gameengine.math;
+
+/**
+ * 结构数组（SoA）上的批量数学：积分位置/速度、阻尼与边界反弹。
+ * 运行时启用了 jdk.incubator.vector 模块时使用 SIMD 内核，否则回退到标量内核；
+ * 两种实现结果逐位相同。可用 -Dgameengine.simd=false 强制使用标量内核。
+ */
+public final class BatchMath {
+    private static final BatchKernel KERNEL = loadKernel();
+    
+    private BatchMath() {}
+    
+    private static BatchKernel loadKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("gameengine.simd", "true"))) {
+            return new ScalarBatchKernel();
+        }
+        try {
+            Class<?> type = Class.forName("com.gameengine.math.VectorBatchKernel");
+            return (BatchKernel) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // 未添加 --add-modules jdk.incubator.vector
+            return new ScalarBatchKernel();
+        }
+    }
+    
+    /**
+     * 刚体积分：v = (v + (a + g) * dt) * damping，p += v * dt，并清零加速度
+     */
+    public static void integrate(float[] x, float[] y, float[] vx, float[] vy,
+                                 float[] ax, float[] ay, float[] gx, float[] gy,
+                                 float[] damping, float dt, int start, int end) {
+        KERNEL.integrate(x, y, vx, vy, ax, ay, gx, gy, damping, dt, start, end);
+    }
+    
+    /**
+     * 无外力积分：p += v * dt，随后 v *= damping
+     */
+    public static void integrateDamped(float[] x, float[] y, float[] vx, float[] vy,
+                                       float damping, float dt, int start, int end) {
+        KERNEL.integrateDamped(x, y, vx, vy, damping, dt, start, end);
+    }
+    
+    /**
+     * 单轴边界反弹：p 触碰或越过逐行的 [min, max] 时 v 取反，p 夹回区间内
+     */
+    public static void bounce(float[] p, float[] v, float[] min, float[] max, int start, int end) {
+        KERNEL.bounce(p, v, min, max, start, end);
+    }
+    
+    public static void addScalar(float[] a, float value, int start, int end) {
+        KERNEL.addScalar(a, value, start, end);
+    }
+    
+    /**
+     * 是否使用 SIMD 内核
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarBatchKernel);
+    }
+    
+    /**
+     * 当前内核的描述，例如 "vector(8x32bit)" 或 "scalar"
+     */
+    public static String implementation() {
+        return KERNEL.name();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gameengine.math;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 快速三角函数与单位圆顶点缓存。
+ * sin/cos 使用 4096 项查表加线性插值，绝对误差不超过 {@link #MAX_ERROR}，
+ * 适合粒子、特效等不要求精确的场合；需要可复现结果的逻辑（如录制回放依赖的运动）仍应使用 Math。
+ */
+public final class FastMath {
+    public static final float PI = (float) Math.PI;
+    public static final float TWO_PI = (float) (Math.PI * 2.0);
+    
+    private static final int LUT_BITS = 12;
+    private static final int LUT_SIZE = 1 << LUT_BITS;
+    private static final int LUT_MASK = LUT_SIZE - 1;
+    private static final float INDEX_SCALE = LUT_SIZE / TWO_PI;
+    // 多一项便于插值时不做回绕判断
+    private static final float[] SIN = new float[LUT_SIZE + 1];
+    
+    /**
+     * 参数在 [-2π, 2π] 内时查表 sin/cos 的误差上界（线性插值误差 h^2/8，h 为表步长，外加 float 舍入）；
+     * 参数越大，float 本身的精度损失越明显
+     */
+    public static final float MAX_ERROR = 1e-6f;
+    
+    // 单位圆顶点缓存：按段数索引，超过上限的段数不缓存
+    private static final int MAX_CACHED_SEGMENTS = 256;
+    private static final AtomicReferenceArray<float[]> circles = new AtomicReferenceArray<>(MAX_CACHED_SEGMENTS + 1);
+    
+    static {
+        for (int i = 0; i <= LUT_SIZE; i++) {
+            SIN[i] = (float) Math.sin(i * (Math.PI * 2.0) / LUT_SIZE);
+        }
+    }
+    
+    private FastMath() {}
+    
+    public static float sin(float radians) {
+        float index = radians * INDEX_SCALE;
+        int floor = (int) Math.floor(index);
+        float frac = index - floor;
+        int i = floor & LUT_MASK;
+        return SIN[i] + (SIN[i + 1] - SIN[i]) * frac;
+    }
+    
+    public static float cos(float radians) {
+        // cos(x) = sin(x + π/2)，即表下标偏移四分之一周期
+        float index = radians * INDEX_SCALE + (LUT_SIZE >> 2);
+        int floor = (int) Math.floor(index);
+        float frac = index - floor;
+        int i = floor & LUT_MASK;
+        return SIN[i] + (SIN[i + 1] - SIN[i]) * frac;
+    }
+    
+    /**
+     * 单位圆上均匀分布的 segments + 1 个顶点，按 [cos0, sin0, cos1, sin1, ...] 交错存放，
+     * 最后一个顶点与第一个相同（便于闭合扇形/折线）。返回的数组被共享，调用方不得修改。
+     */
+    public static float[] unitCircle(int segments) {
+        if (segments < 3) {
+            throw new IllegalArgumentException("圆至少需要 3 段: " + segments);
+        }
+        if (segments > MAX_CACHED_SEGMENTS) {
+            return buildCircle(segments);
+        }
+        float[] vertices = circles.get(segments);
+        if (vertices == null) {
+            vertices = buildCircle(segments);
+            if (!circles.compareAndSet(segments, null, vertices)) {
+                vertices = circles.get(segments);
+            }
+        }
+        return vertices;
+    }
+    
+    private static float[] buildCircle(int segments) {
+        float[] vertices = new float[(segments + 1) * 2];
+        for (int i = 0; i < segments; i++) {
+            double angle = i * (Math.PI * 2.0) / segments;
+            vertices[i * 2] = (float) Math.cos(angle);
+            vertices[i * 2 + 1] = (float) Math.sin(angle);
+        }
+        vertices[segments * 2] = vertices[0];
+        vertices[segments * 2 + 1] = vertices[1];
+        return vertices;
+    }
+}
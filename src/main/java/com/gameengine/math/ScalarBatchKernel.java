@@ -0,0 +1,55 @@
+package com.gameengine.math;
+
+/**
+ * 标量批量内核，向量内核不可用时的回退实现，也用于向量循环的尾部
+ */
+final class ScalarBatchKernel implements BatchKernel {
+
+    @Override
+    public void integrate(float[] x, float[] y, float[] vx, float[] vy,
+                          float[] ax, float[] ay, float[] gx, float[] gy,
+                          float[] damping, float dt, int start, int end) {
+        for (int i = start; i < end; i++) {
+            float velX = (vx[i] + (ax[i] + gx[i]) * dt) * damping[i];
+            float velY = (vy[i] + (ay[i] + gy[i]) * dt) * damping[i];
+            x[i] += velX * dt;
+            y[i] += velY * dt;
+            vx[i] = velX;
+            vy[i] = velY;
+            ax[i] = 0;
+            ay[i] = 0;
+        }
+    }
+    
+    @Override
+    public void integrateDamped(float[] x, float[] y, float[] vx, float[] vy,
+                                float damping, float dt, int start, int end) {
+        for (int i = start; i < end; i++) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            vx[i] *= damping;
+            vy[i] *= damping;
+        }
+    }
+    
+    @Override
+    public void bounce(float[] p, float[] v, float[] min, float[] max, int start, int end) {
+        for (int i = start; i < end; i++) {
+            float pos = p[i];
+            if (pos <= min[i] || pos >= max[i]) v[i] = -v[i];
+            p[i] = Math.min(Math.max(pos, min[i]), max[i]);
+        }
+    }
+    
+    @Override
+    public void addScalar(float[] a, float value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            a[i] += value;
+        }
+    }
+    
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
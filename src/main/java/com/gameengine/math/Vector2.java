@@ -45,7 +45,68 @@ public class Vector2 {
     }
     
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        return (float) Math.sqrt(distanceSquared(other));
+    }
+    
+    public float distanceSquared(Vector2 other) {
+        float dx = this.x - other.x;
+        float dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+    
+    // 以下为原地修改版本，返回 this 以便链式调用，热路径上用来避免分配
+    
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        this.x = other.x;
+        this.y = other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(Vector2 other) {
+        this.x += other.x;
+        this.y += other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(float x, float y) {
+        this.x += x;
+        this.y += y;
+        return this;
+    }
+    
+    /**
+     * this += other * scalar
+     */
+    public Vector2 addScaledLocal(Vector2 other, float scalar) {
+        this.x += other.x * scalar;
+        this.y += other.y * scalar;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        this.x -= other.x;
+        this.y -= other.y;
+        return this;
+    }
+    
+    public Vector2 scaleLocal(float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+    
+    public Vector2 normalizeLocal() {
+        float mag = magnitude();
+        if (mag == 0) return set(0, 0);
+        this.x /= mag;
+        this.y /= mag;
+        return this;
     }
     
     @Override
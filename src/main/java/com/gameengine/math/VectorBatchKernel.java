@@ -0,0 +1,88 @@
+package com.gameengine.math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 基于 jdk.incubator.vector 的批量内核，按平台首选宽度处理整段，尾部交给标量实现。
+ * 运行时未加 --add-modules jdk.incubator.vector 时本类无法初始化，由 BatchMath 回退到标量内核。
+ */
+final class VectorBatchKernel implements BatchKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    
+    private final ScalarBatchKernel tail = new ScalarBatchKernel();
+    
+    @Override
+    public void integrate(float[] x, float[] y, float[] vx, float[] vy,
+                          float[] ax, float[] ay, float[] gx, float[] gy,
+                          float[] damping, float dt, int start, int end) {
+        int i = start;
+        int upper = start + SPECIES.loopBound(end - start);
+        FloatVector zero = FloatVector.zero(SPECIES);
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector d = FloatVector.fromArray(SPECIES, damping, i);
+            FloatVector velX = FloatVector.fromArray(SPECIES, ax, i)
+                .add(FloatVector.fromArray(SPECIES, gx, i)).mul(dt)
+                .add(FloatVector.fromArray(SPECIES, vx, i)).mul(d);
+            FloatVector velY = FloatVector.fromArray(SPECIES, ay, i)
+                .add(FloatVector.fromArray(SPECIES, gy, i)).mul(dt)
+                .add(FloatVector.fromArray(SPECIES, vy, i)).mul(d);
+            FloatVector.fromArray(SPECIES, x, i).add(velX.mul(dt)).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(velY.mul(dt)).intoArray(y, i);
+            velX.intoArray(vx, i);
+            velY.intoArray(vy, i);
+            zero.intoArray(ax, i);
+            zero.intoArray(ay, i);
+        }
+        tail.integrate(x, y, vx, vy, ax, ay, gx, gy, damping, dt, i, end);
+    }
+    
+    @Override
+    public void integrateDamped(float[] x, float[] y, float[] vx, float[] vy,
+                                float damping, float dt, int start, int end) {
+        int i = start;
+        int upper = start + SPECIES.loopBound(end - start);
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector velX = FloatVector.fromArray(SPECIES, vx, i);
+            FloatVector velY = FloatVector.fromArray(SPECIES, vy, i);
+            FloatVector.fromArray(SPECIES, x, i).add(velX.mul(dt)).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(velY.mul(dt)).intoArray(y, i);
+            velX.mul(damping).intoArray(vx, i);
+            velY.mul(damping).intoArray(vy, i);
+        }
+        tail.integrateDamped(x, y, vx, vy, damping, dt, i, end);
+    }
+    
+    @Override
+    public void bounce(float[] p, float[] v, float[] min, float[] max, int start, int end) {
+        int i = start;
+        int upper = start + SPECIES.loopBound(end - start);
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector pos = FloatVector.fromArray(SPECIES, p, i);
+            FloatVector lo = FloatVector.fromArray(SPECIES, min, i);
+            FloatVector hi = FloatVector.fromArray(SPECIES, max, i);
+            VectorMask<Float> hit = pos.compare(VectorOperators.LE, lo)
+                .or(pos.compare(VectorOperators.GE, hi));
+            FloatVector.fromArray(SPECIES, v, i).lanewise(VectorOperators.NEG, hit).intoArray(v, i);
+            pos.max(lo).min(hi).intoArray(p, i);
+        }
+        tail.bounce(p, v, min, max, i, end);
+    }
+    
+    @Override
+    public void addScalar(float[] a, float value, int start, int end) {
+        int i = start;
+        int upper = start + SPECIES.loopBound(end - start);
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, a, i).add(value).intoArray(a, i);
+        }
+        tail.addScalar(a, value, i, end);
+    }
+    
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.length() + "x" + SPECIES.elementSize() + "bit)";
+    }
+}
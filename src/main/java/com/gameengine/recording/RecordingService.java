@@ -2,23 +2,30 @@
 package com.gameengine.recording;
 
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.EntityId;
 import com.gameengine.core.GameObject;
 import com.gameengine.input.InputManager;
+import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
-import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 public class RecordingService {
     private final RecordingConfig config;
     private final BlockingQueue<String> lineQueue;
     private volatile boolean recording;
     private Thread writerThread;
+    // optional executor for the blocking writer loop (e.g. the engine's blocking pool); null = dedicated thread
+    private Executor writerExecutor;
+    private CompletableFuture<Void> writerTask;
     private RecordingStorage storage = new FileRecordingStorage();
     private double elapsed;
     private double keyframeElapsed;
@@ -26,7 +33,10 @@ public class RecordingService {
     private double sampleAccumulator;
     private final double warmupSec = 0.1; // 等待一帧让场景对象完成初始化
     private final DecimalFormat qfmt;
-    private final java.util.Map<String, double[]> lastPositions = new java.util.HashMap<>();
+    // last recorded position per entity, indexed by EntityId slot (full id stored to reject stale generations)
+    private int[] lastIds = new int[64];
+    private float[] lastX = new float[64];
+    private float[] lastY = new float[64];
     private Scene lastScene;
 
     public RecordingService(RecordingConfig config) {
@@ -41,6 +51,14 @@ public class RecordingService {
         this.qfmt.setGroupingUsed(false);
     }
 
+    /**
+     * Run the writer loop on a borrowed executor instead of a dedicated thread.
+     * Must be called before start(); the executor is not shut down by this service.
+     */
+    public void setWriterExecutor(Executor writerExecutor) {
+        this.writerExecutor = writerExecutor;
+    }
+
     public boolean isRecording() {
         return recording;
     }
@@ -48,7 +66,7 @@ public class RecordingService {
     public void start(Scene scene, int width, int height) throws IOException {
         if (recording) return;
         storage.openWriter(config.outputPath);
-        writerThread = new Thread(() -> {
+        Runnable writer = () -> {
             try {
                 while (recording || !lineQueue.isEmpty()) {
                     String s = lineQueue.poll();
@@ -63,9 +81,16 @@ public class RecordingService {
             } finally {
                 try { storage.closeWriter(); } catch (Exception ignored) {}
             }
-        }, "record-writer");
+        };
         recording = true;
-        writerThread.start();
+        if (writerExecutor != null) {
+            writerThread = null;
+            writerTask = CompletableFuture.runAsync(writer, writerExecutor);
+        } else {
+            writerTask = null;
+            writerThread = new Thread(writer, "record-writer");
+            writerThread.start();
+        }
 
         // header (include optional RNG seed if scene exposes it via getRecordingSeed())
         long seedValue = -1L;
@@ -101,7 +126,13 @@ public class RecordingService {
             }
         } catch (Exception ignored) {}
         recording = false;
-        try { writerThread.join(500); } catch (InterruptedException ignored) {}
+        try {
+            if (writerThread != null) writerThread.join(500);
+            if (writerTask != null) writerTask.get(500, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignored) {
+        } catch (Exception e) {
+            // timeout or writer failure: the writer closes the file itself once the queue drains
+        }
     }
 
     public void update(double deltaTime, Scene scene, InputManager input) {
@@ -158,40 +189,39 @@ public class RecordingService {
     private boolean writeKeyframe(Scene scene) {
         StringBuilder sb = new StringBuilder();
         sb.append("{\"type\":\"keyframe\",\"t\":").append(fmt(elapsed)).append(",\"entities\":[");
-        List<GameObject> objs = scene.getGameObjects();
-        // ensure deterministic ordering: sort by object name to avoid index drift between keyframes
-        java.util.List<GameObject> sorted = new java.util.ArrayList<>();
-        for (GameObject o : objs) {
+        // ensure deterministic ordering: sort by entity slot (the id's generation lives in the high bits)
+        // so swap-remove in the scene does not reorder keyframe rows
+        java.util.List<GameObject> sorted = new java.util.ArrayList<>(scene.getGameObjectCount());
+        for (int i = 0, n = scene.getGameObjectCount(); i < n; i++) {
+            GameObject o = scene.getGameObject(i);
             if (o.getComponent(TransformComponent.class) != null) sorted.add(o);
         }
-        sorted.sort((a,b) -> {
-            String an = a.getName() == null ? "" : a.getName();
-            String bn = b.getName() == null ? "" : b.getName();
-            return an.compareTo(bn);
-        });
+        sorted.sort(java.util.Comparator.comparingInt(o -> EntityId.index(o.getId())));
         boolean first = true;
         int count = 0;
         for (GameObject obj : sorted) {
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc == null) continue;
-            float x = tc.getPosition().x;
-            float y = tc.getPosition().y;
+            Vector2 pos = tc.getPosition();
+            float x = pos.x;
+            float y = pos.y;
             // position threshold filtering: skip entities with negligible movement
-            String objName = obj.getName();
+            int eid = obj.getId();
+            int slot = EntityId.index(eid);
             boolean skip = false;
-            if (objName != null) {
-                double[] prev = lastPositions.get(objName);
-                if (prev != null) {
-                    double dx = x - prev[0];
-                    double dy = y - prev[1];
-                    double dist = Math.hypot(dx, dy);
-                    if (dist < config.positionThreshold) skip = true;
-                }
+            if (slot < lastIds.length && lastIds[slot] == eid && eid != EntityId.NONE) {
+                double dx = x - lastX[slot];
+                double dy = y - lastY[slot];
+                double dist = Math.hypot(dx, dy);
+                if (dist < config.positionThreshold) skip = true;
             }
             if (skip) continue;
             if (!first) sb.append(',');
+            // "id" keeps the (optional) debug name for older readers; "eid" is the entity identity
+            String label = obj.getName() != null ? obj.getName() : EntityId.toString(eid);
             sb.append('{')
-              .append("\"id\":\"").append(obj.getName()).append("\",")
+              .append("\"id\":\"").append(label).append("\",")
+              .append("\"eid\":").append(eid).append(',')
               .append("\"x\":").append(fmt(x)).append(',')
               .append("\"y\":").append(fmt(y));
 
@@ -219,7 +249,7 @@ public class RecordingService {
             first = false;
             count++;
             // update last recorded position for this object
-            if (objName != null) lastPositions.put(objName, new double[]{x, y});
+            if (eid != EntityId.NONE) rememberPosition(eid, slot, x, y);
         }
         sb.append("]}");
         if (count == 0) return false;
@@ -227,6 +257,18 @@ public class RecordingService {
         return true;
     }
 
+    private void rememberPosition(int eid, int slot, float x, float y) {
+        if (slot >= lastIds.length) {
+            int cap = Math.max(slot + 1, lastIds.length * 2);
+            lastIds = java.util.Arrays.copyOf(lastIds, cap);
+            lastX = java.util.Arrays.copyOf(lastX, cap);
+            lastY = java.util.Arrays.copyOf(lastY, cap);
+        }
+        lastIds[slot] = eid;
+        lastX[slot] = x;
+        lastY[slot] = y;
+    }
+
     private void enqueue(String line) {
         if (!lineQueue.offer(line)) {
             // 简单丢弃策略：队列满时丢弃低优先级数据（此处直接丢弃）
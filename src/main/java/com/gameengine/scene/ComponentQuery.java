@@ -0,0 +1,113 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.Component;
+import com.gameengine.core.ComponentRegistry;
+import com.gameengine.core.EntityId;
+import com.gameengine.core.GameObject;
+import java.util.*;
+
+/**
+ * 组件查询：匹配同时拥有全部指定组件类型的对象。
+ * 由 Scene 注册并在对象/组件增删时增量维护，结果集可直接反复读取，无需每帧重新构建。
+ */
+public class ComponentQuery {
+    private final int[] typeIds;
+    private final List<GameObject> objects;
+    private final List<Component<?>> components;
+    // 实体槽位下标 -> 结果集下标 + 1（0 表示不在结果集中）
+    private int[] indices;
+    private final List<GameObject> objectsView;
+    private final List<Component<?>> componentsView;
+    
+    ComponentQuery(Class<?>... componentTypes) {
+        if (componentTypes.length == 0) {
+            throw new IllegalArgumentException("查询至少需要一个组件类型");
+        }
+        this.typeIds = new int[componentTypes.length];
+        for (int i = 0; i < componentTypes.length; i++) {
+            typeIds[i] = ComponentRegistry.idOf(componentTypes[i]);
+        }
+        this.objects = new ArrayList<>();
+        this.components = new ArrayList<>();
+        this.indices = new int[64];
+        this.objectsView = Collections.unmodifiableList(objects);
+        this.componentsView = Collections.unmodifiableList(components);
+    }
+    
+    /**
+     * 匹配的对象（只读视图，随场景变化自动更新）
+     */
+    public List<GameObject> getGameObjects() {
+        return objectsView;
+    }
+    
+    /**
+     * 匹配对象上第一个查询类型的组件，与 {@link #getGameObjects()} 下标一一对应
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component<T>> List<T> getComponents() {
+        return (List<T>) (List<?>) componentsView;
+    }
+    
+    public int size() {
+        return objects.size();
+    }
+    
+    public boolean isEmpty() {
+        return objects.isEmpty();
+    }
+    
+    boolean matches(int[] otherTypeIds) {
+        return Arrays.equals(typeIds, otherTypeIds);
+    }
+    
+    boolean matches(GameObject obj) {
+        for (int typeId : typeIds) {
+            if (obj.getComponent(typeId) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    void onObjectAdded(GameObject obj) {
+        int entity = EntityId.index(obj.getId());
+        if (entity >= indices.length) {
+            indices = Arrays.copyOf(indices, Math.max(entity + 1, indices.length * 2));
+        }
+        if (indices[entity] == 0 && matches(obj)) {
+            objects.add(obj);
+            indices[entity] = objects.size();
+            components.add(obj.getComponent(typeIds[0]));
+        }
+    }
+    
+    void onComponentAdded(GameObject obj) {
+        onObjectAdded(obj);
+    }
+    
+    /**
+     * 移除对象：与末尾元素交换后删除，O(1)
+     */
+    void onObjectRemoved(GameObject obj) {
+        int entity = EntityId.index(obj.getId());
+        if (entity >= indices.length || indices[entity] == 0) return;
+        int index = indices[entity] - 1;
+        indices[entity] = 0;
+        int last = objects.size() - 1;
+        if (index != last) {
+            GameObject moved = objects.get(last);
+            objects.set(index, moved);
+            components.set(index, components.get(last));
+            indices[EntityId.index(moved.getId())] = index + 1;
+        }
+        objects.remove(last);
+        components.remove(last);
+    }
+    
+    void clear() {
+        objects.clear();
+        components.clear();
+        Arrays.fill(indices, 0);
+    }
+}
@@ -1,93 +1,678 @@
 package com.gameengine.scene;
 
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameObject;
 import com.gameengine.core.Component;
+import com.gameengine.core.ComponentRegistry;
+import com.gameengine.core.EntityId;
+import com.gameengine.core.EntityMap;
+import com.gameengine.core.GameSystem;
+import com.gameengine.core.TagRegistry;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class Scene {
     private String name;
-    private List<GameObject> gameObjects;
+    // 稠密数组存放场景对象，延迟删除时做一次稳定压缩（保持渲染顺序）
+    private GameObject[] gameObjects;
+    private int gameObjectCount;
+    private final List<GameObject> gameObjectsView;
     private List<GameObject> objectsToAdd;
-    private List<GameObject> objectsToRemove;
+    private Set<GameObject> objectsToRemove;
     private boolean initialized;
+    private final FrameStats frameStats;
+    // 分代实体 id 分配：槽位 -> 当前代数 / 对象，回收的槽位放入空闲栈
+    private int[] generations;
+    private GameObject[] entities;
+    private int[] freeIndices;
+    private int freeCount;
+    private int nextIndex;
+    // 已注册的组件查询，随对象/组件增删增量维护
+    private final List<ComponentQuery> queries;
+    private final Map<Class<?>, ComponentQuery> singleTypeQueries;
+    // 按标签位下标索引的成员集合（懒创建），随对象增删与标签变化增量维护
+    private final TagSet[] tagSets;
+    // 已注册的系统（按 order 稳定排序），以及由系统批量更新的组件类型
+    private final List<GameSystem> systems;
+    private final List<GameSystem> systemsView;
+    private boolean[] batchedTypes;
+    // 系统并行执行：按读写声明建立依赖图，在工作窃取线程池上调度
+    private final SystemScheduler scheduler;
+    private boolean parallelSystems;
+    private Executor systemExecutor;
+    // 渲染插值系数，由引擎在固定步长模式下每帧设置
+    private float renderAlpha = 1.0f;
+    // 父子层级的世界变换，渲染前传播
+    private final TransformGraph transformGraph;
+    // 空间哈希宽相位（首次访问时启用），每帧在系统执行与压缩之后按 Transform 刷新
+    public static final float DEFAULT_SPATIAL_CELL_SIZE = 64f;
+    private SpatialHash<GameObject> spatialHash;
+    // 实体槽位 -> 空间哈希句柄 + 1（0 表示未登记）
+    private int[] spatialHandles;
     
     public Scene(String name) {
         this.name = name;
-        this.gameObjects = new ArrayList<>();
+        this.gameObjects = new GameObject[64];
+        this.gameObjectCount = 0;
+        this.gameObjectsView = new GameObjectsView();
         this.objectsToAdd = new ArrayList<>();
-        this.objectsToRemove = new ArrayList<>();
+        this.objectsToRemove = Collections.newSetFromMap(new IdentityHashMap<>());
         this.initialized = false;
+        this.frameStats = new FrameStats();
+        this.generations = new int[64];
+        this.entities = new GameObject[64];
+        this.freeIndices = new int[64];
+        this.queries = new ArrayList<>();
+        this.singleTypeQueries = new HashMap<>();
+        this.tagSets = new TagSet[TagRegistry.MAX_TAGS];
+        this.systems = new ArrayList<>();
+        this.systemsView = Collections.unmodifiableList(systems);
+        this.batchedTypes = new boolean[16];
+        this.scheduler = new SystemScheduler();
+        this.systemExecutor = ForkJoinPool.commonPool();
+        this.transformGraph = new TransformGraph(this);
     }
     
     public void initialize() {
-        for (GameObject obj : gameObjects) {
-            obj.initialize();
+        for (int i = 0; i < gameObjectCount; i++) {
+            gameObjects[i].initialize();
         }
         initialized = true;
     }
     
     public void update(float deltaTime) {
-        for (GameObject obj : objectsToAdd) {
-            gameObjects.add(obj);
+        frameStats.reset();
+        for (int i = 0; i < objectsToAdd.size(); i++) {
+            GameObject obj = objectsToAdd.get(i);
+            // 随父对象自动加入的子对象可能已被显式加入过
+            if (obj.getScene() == this) continue;
+            if (gameObjectCount == gameObjects.length) {
+                gameObjects = Arrays.copyOf(gameObjects, gameObjectCount * 2);
+            }
+            gameObjects[gameObjectCount++] = obj;
+            attach(obj);
+            frameStats.added++;
             if (initialized) {
                 obj.initialize();
             }
         }
         objectsToAdd.clear();
         
-        for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
-        }
-        objectsToRemove.clear();
-        
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
+        boolean needsCompaction = !objectsToRemove.isEmpty();
+        for (int i = 0; i < gameObjectCount; i++) {
+            GameObject obj = gameObjects[i];
             if (obj.isActive()) {
                 obj.update(deltaTime);
             } else {
-                iterator.remove();
+                needsCompaction = true;
             }
         }
+        
+        if (parallelSystems) {
+            scheduler.runParallel(systems, deltaTime, systemExecutor);
+        } else {
+            scheduler.runSequential(systems, deltaTime);
+        }
+        
+        if (needsCompaction) {
+            compact();
+        }
+        
+        if (spatialHash != null) {
+            refreshSpatialHash();
+        }
+    }
+    
+    /**
+     * 一次遍历移除所有失活或被请求删除的对象，保留对象相对顺序
+     */
+    private void compact() {
+        // 被移除对象的子树一并移除
+        for (int i = 0; i < gameObjectCount; i++) {
+            GameObject obj = gameObjects[i];
+            if (obj.getChildCount() > 0 && isRemoving(obj)) {
+                removeDescendants(obj);
+            }
+        }
+        boolean checkRemovals = !objectsToRemove.isEmpty();
+        int write = 0;
+        for (int read = 0; read < gameObjectCount; read++) {
+            GameObject obj = gameObjects[read];
+            if (obj.isActive() && !(checkRemovals && objectsToRemove.contains(obj))) {
+                if (write != read) {
+                    gameObjects[write] = obj;
+                    frameStats.compacted++;
+                }
+                write++;
+            } else {
+                detach(obj);
+                frameStats.removed++;
+            }
+        }
+        Arrays.fill(gameObjects, write, gameObjectCount, null);
+        gameObjectCount = write;
+        objectsToRemove.clear();
+    }
+    
+    private boolean isRemoving(GameObject obj) {
+        return !obj.isActive() || objectsToRemove.contains(obj);
+    }
+    
+    private void removeDescendants(GameObject obj) {
+        List<GameObject> children = obj.getChildren();
+        for (int i = 0, n = children.size(); i < n; i++) {
+            GameObject child = children.get(i);
+            if (child.getScene() == this) {
+                objectsToRemove.add(child);
+            }
+            removeDescendants(child);
+        }
     }
     
     public void render() {
-        for (GameObject obj : gameObjects) {
+        transformGraph.update(gameObjects, gameObjectCount, renderAlpha);
+        for (int i = 0; i < gameObjectCount; i++) {
+            GameObject obj = gameObjects[i];
             if (obj.isActive()) {
                 obj.render();
             }
         }
     }
     
+    /**
+     * 请求在下一次更新时加入对象（可在并行系统中调用）
+     */
     public void addGameObject(GameObject gameObject) {
-        objectsToAdd.add(gameObject);
+        if (gameObject.getPool() != null && gameObject.getScene() != null) {
+            throw new IllegalStateException("池化对象仍在场景中，不能重复加入: " + gameObject.getName());
+        }
+        synchronized (objectsToAdd) {
+            objectsToAdd.add(gameObject);
+        }
+    }
+    
+    /**
+     * 请求在下一次更新时移除对象（可在并行系统中调用）
+     */
+    public void removeGameObject(GameObject gameObject) {
+        synchronized (objectsToRemove) {
+            objectsToRemove.add(gameObject);
+        }
+    }
+    
+    /**
+     * 注册系统，按 order 插入（相同 order 保持注册顺序），每帧在对象更新之后执行
+     */
+    public void addSystem(GameSystem system) {
+        int index = systems.size();
+        while (index > 0 && systems.get(index - 1).getOrder() > system.getOrder()) {
+            index--;
+        }
+        systems.add(index, system);
+        scheduler.invalidate();
+        system.onAttach(this);
+    }
+    
+    public void removeSystem(GameSystem system) {
+        if (systems.remove(system)) {
+            scheduler.invalidate();
+            system.onDetach(this);
+        }
+    }
+    
+    /**
+     * 启用后，读写不冲突的系统并行执行。系统在并行期间不应直接增删组件，
+     * 增删对象请使用 addGameObject/removeGameObject（在下一帧生效）
+     */
+    public void setParallelSystems(boolean parallelSystems) {
+        this.parallelSystems = parallelSystems;
+    }
+    
+    public boolean isParallelSystems() {
+        return parallelSystems;
+    }
+    
+    /**
+     * 设置并行系统使用的线程池（默认 ForkJoinPool.commonPool()）
+     */
+    public void setSystemExecutor(Executor executor) {
+        this.systemExecutor = executor != null ? executor : ForkJoinPool.commonPool();
     }
     
+    /**
+     * 场景借用的执行器（由引擎注入共享线程池），场景与系统内的并行任务都应提交到这里
+     */
+    public Executor getSystemExecutor() {
+        return systemExecutor;
+    }
+    
+    /**
+     * 已注册的系统（只读，按执行顺序）
+     */
+    public List<GameSystem> getSystems() {
+        return systemsView;
+    }
+    
+    /**
+     * 标记某组件类型由系统批量更新，GameObject.update 将跳过该类型
+     */
+    public void setBatchedType(int typeId, boolean batched) {
+        if (typeId >= batchedTypes.length) {
+            batchedTypes = Arrays.copyOf(batchedTypes, Math.max(typeId + 1, batchedTypes.length * 2));
+        }
+        batchedTypes[typeId] = batched;
+    }
+    
+    public boolean isBatchedType(int typeId) {
+        return typeId < batchedTypes.length && batchedTypes[typeId];
+    }
+    
+    /**
+     * 注册（或复用）一个组件查询，结果集会随场景变化增量维护
+     */
+    public ComponentQuery query(Class<?>... componentTypes) {
+        int[] typeIds = new int[componentTypes.length];
+        for (int i = 0; i < componentTypes.length; i++) {
+            typeIds[i] = ComponentRegistry.idOf(componentTypes[i]);
+        }
+        for (ComponentQuery query : queries) {
+            if (query.matches(typeIds)) {
+                return query;
+            }
+        }
+        ComponentQuery query = new ComponentQuery(componentTypes);
+        for (int i = 0; i < gameObjectCount; i++) {
+            query.onObjectAdded(gameObjects[i]);
+        }
+        queries.add(query);
+        return query;
+    }
+    
+    /**
+     * 由 GameObject 在场景内添加组件时回调
+     */
+    public void onComponentAdded(GameObject gameObject, Component<?> component) {
+        for (ComponentQuery query : queries) {
+            query.onComponentAdded(gameObject);
+        }
+        if (component instanceof TransformComponent && isInHierarchy(gameObject)) {
+            transformGraph.invalidate();
+        }
+    }
+    
+    /**
+     * 由 GameObject 在挂接/摘下子对象时回调
+     */
+    public void onHierarchyChanged() {
+        transformGraph.invalidate();
+    }
+    
+    /**
+     * 立即传播父子层级的世界变换（不插值）。渲染前会自动传播，
+     * 逻辑中需要读取子对象世界矩阵时调用
+     */
+    public void updateWorldTransforms() {
+        transformGraph.update(gameObjects, gameObjectCount, 1.0f);
+    }
+    
+    /**
+     * 场景对象的空间哈希（只读使用，由场景维护），首次访问时以默认格子尺寸启用。
+     * 对象的 AABB 为其 Transform 位置加上 RenderComponent 的尺寸（没有渲染组件时退化为一个点），
+     * 每次 update 结束时刷新
+     */
+    public SpatialHash<GameObject> getSpatialHash() {
+        if (spatialHash == null) {
+            enableSpatialHash(DEFAULT_SPATIAL_CELL_SIZE);
+        }
+        return spatialHash;
+    }
+    
+    /**
+     * 以指定格子尺寸（重新）启用空间哈希，格子尺寸宜接近常见对象尺寸或查询半径
+     */
+    public void enableSpatialHash(float cellSize) {
+        spatialHash = new SpatialHash<>(cellSize);
+        spatialHandles = new int[generations.length];
+        refreshSpatialHash();
+    }
+    
+    /**
+     * 按当前位置更新空间哈希，新加入的对象在这里登记；对象移出场景时由 detach 注销
+     */
+    public void refreshSpatialHash() {
+        SpatialHash<GameObject> hash = spatialHash;
+        if (hash == null) return;
+        if (spatialHandles.length < generations.length) {
+            spatialHandles = Arrays.copyOf(spatialHandles, generations.length);
+        }
+        List<TransformComponent> transforms = getComponents(TransformComponent.class);
+        for (int i = 0, n = transforms.size(); i < n; i++) {
+            TransformComponent transform = transforms.get(i);
+            GameObject obj = transform.getOwner();
+            float x, y;
+            if (transform.getParentTransform() != null) {
+                // 子对象取最近一次传播的世界位置
+                x = transform.getWorldMatrix().m02;
+                y = transform.getWorldMatrix().m12;
+            } else {
+                x = transform.getX();
+                y = transform.getY();
+            }
+            float w = 0, h = 0;
+            RenderComponent render = obj.getComponent(RenderComponent.class);
+            if (render != null) {
+                w = render.getWidth();
+                h = render.getHeight();
+            }
+            int index = EntityId.index(obj.getId());
+            int handle = spatialHandles[index] - 1;
+            if (handle < 0) {
+                spatialHandles[index] = hash.insert(obj, x, y, x + w, y + h) + 1;
+            } else {
+                hash.update(handle, x, y, x + w, y + h);
+            }
+        }
+    }
+    
+    private static boolean isInHierarchy(GameObject obj) {
+        return obj.getParent() != null || obj.getChildCount() > 0;
+    }
+    
+    /**
+     * 由 GameObject 在场景内修改标签时回调，只更新发生变化的标签位
+     */
+    public void onTagsChanged(GameObject gameObject, long oldTags) {
+        if (getGameObjectById(gameObject.getId()) != gameObject) return;
+        long newTags = gameObject.getTags();
+        indexTags(gameObject, newTags & ~oldTags);
+        unindexTags(gameObject, oldTags & ~newTags);
+    }
+    
+    /**
+     * 拥有指定标签的对象（只读视图，随场景变化自动更新，顺序不保证）
+     * @param tag 单个标签位，见 {@link TagRegistry#bitOf(String)}
+     */
+    public List<GameObject> getGameObjectsWithTag(long tag) {
+        int index = TagRegistry.indexOf(tag);
+        TagSet set = tagSets[index];
+        if (set == null) {
+            set = new TagSet();
+            tagSets[index] = set;
+        }
+        return set;
+    }
+    
+    private void indexTags(GameObject obj, long tags) {
+        while (tags != 0L) {
+            int index = Long.numberOfTrailingZeros(tags);
+            tags &= tags - 1;
+            TagSet set = tagSets[index];
+            if (set == null) {
+                set = new TagSet();
+                tagSets[index] = set;
+            }
+            set.members.put(obj.getId(), obj);
+        }
+    }
+    
+    private void unindexTags(GameObject obj, long tags) {
+        while (tags != 0L) {
+            int index = Long.numberOfTrailingZeros(tags);
+            tags &= tags - 1;
+            TagSet set = tagSets[index];
+            if (set != null) {
+                set.members.remove(obj.getId());
+            }
+        }
+    }
+    
+    private void attach(GameObject obj) {
+        obj.setScene(this);
+        obj.setId(allocateId(obj));
+        // 新加入（或从池中复用）的对象没有有效的上一 tick 位置
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform != null) {
+            transform.resetInterpolation();
+        }
+        for (ComponentQuery query : queries) {
+            query.onObjectAdded(obj);
+        }
+        indexTags(obj, obj.getTags());
+        if (isInHierarchy(obj)) {
+            transformGraph.invalidate();
+            List<GameObject> children = obj.getChildren();
+            for (int i = 0, n = children.size(); i < n; i++) {
+                GameObject child = children.get(i);
+                if (child.getScene() == null) {
+                    objectsToAdd.add(child);
+                }
+            }
+        }
+    }
+    
+    private void detach(GameObject obj) {
+        for (ComponentQuery query : queries) {
+            query.onObjectRemoved(obj);
+        }
+        unindexTags(obj, obj.getTags());
+        unindexSpatial(obj);
+        if (isInHierarchy(obj)) {
+            transformGraph.invalidate();
+            // 单独移除的子对象从仍留在场景中的父对象上摘下；整棵子树移除时保持结构
+            GameObject parent = obj.getParent();
+            if (parent != null && parent.getScene() == this && !isRemoving(parent)) {
+                parent.removeChild(obj);
+            }
+        }
+        release(obj);
+    }
+    
+    private void unindexSpatial(GameObject obj) {
+        if (spatialHash == null || getGameObjectById(obj.getId()) != obj) return;
+        int index = EntityId.index(obj.getId());
+        if (index < spatialHandles.length && spatialHandles[index] != 0) {
+            spatialHash.remove(spatialHandles[index] - 1);
+            spatialHandles[index] = 0;
+        }
+    }
+    
+    /**
+     * 回收对象的实体 id；池化对象同时归还到所属对象池
+     */
+    private void release(GameObject obj) {
+        releaseId(obj.getId());
+        obj.setId(EntityId.NONE);
+        if (obj.getScene() == this) {
+            obj.setScene(null);
+        }
+        if (obj.getPool() != null) {
+            obj.getPool().release(obj);
+        }
+    }
+    
+    private int allocateId(GameObject obj) {
+        int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            index = nextIndex++;
+            if (index > EntityId.MAX_INDEX) {
+                throw new IllegalStateException("实体数量超出上限: " + EntityId.MAX_INDEX);
+            }
+            if (index >= generations.length) {
+                generations = Arrays.copyOf(generations, generations.length * 2);
+                entities = Arrays.copyOf(entities, entities.length * 2);
+            }
+            generations[index] = 1;
+        }
+        entities[index] = obj;
+        return EntityId.of(index, generations[index]);
+    }
+    
+    private void releaseId(int id) {
+        if (getGameObjectById(id) == null) return;
+        int index = EntityId.index(id);
+        entities[index] = null;
+        generations[index] = EntityId.nextGeneration(generations[index]);
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+        }
+        freeIndices[freeCount++] = index;
+    }
+    
+    /**
+     * 按分代实体 id 查找对象，id 已失效（对象已移除、槽位被复用）时返回 null
+     */
+    public GameObject getGameObjectById(int id) {
+        int index = EntityId.index(id);
+        if (id == EntityId.NONE || index >= nextIndex || generations[index] != EntityId.generation(id)) {
+            return null;
+        }
+        return entities[index];
+    }
+    
+    private ComponentQuery singleTypeQuery(Class<?> componentType) {
+        ComponentQuery query = singleTypeQueries.get(componentType);
+        if (query == null) {
+            query = query(componentType);
+            singleTypeQueries.put(componentType, query);
+        }
+        return query;
+    }
+    
+    /**
+     * 查找拥有指定组件的对象（只读视图，由缓存查询维护）
+     */
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        return singleTypeQuery(componentType).getGameObjects();
     }
     
+    /**
+     * 获取场景中指定类型的全部组件（只读视图，由缓存查询维护）
+     */
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        return singleTypeQuery(componentType).getComponents();
     }
     
     public void clear() {
-        gameObjects.clear();
+        for (int i = 0; i < gameObjectCount; i++) {
+            release(gameObjects[i]);
+        }
+        Arrays.fill(gameObjects, 0, gameObjectCount, null);
+        gameObjectCount = 0;
         objectsToAdd.clear();
         objectsToRemove.clear();
+        for (ComponentQuery query : queries) {
+            query.clear();
+        }
+        for (TagSet set : tagSets) {
+            if (set != null) set.members.clear();
+        }
+        transformGraph.clear();
+        if (spatialHash != null) {
+            spatialHash.clear();
+            Arrays.fill(spatialHandles, 0);
+        }
+    }
+    
+    /**
+     * 在每个固定步长 tick 之前记录所有 Transform 的位置，供渲染插值使用
+     */
+    public void storePreviousTransforms() {
+        List<TransformComponent> transforms = getComponents(TransformComponent.class);
+        for (int i = 0, n = transforms.size(); i < n; i++) {
+            transforms.get(i).storePrevious();
+        }
+    }
+    
+    public float getRenderAlpha() {
+        return renderAlpha;
+    }
+    
+    public void setRenderAlpha(float renderAlpha) {
+        this.renderAlpha = renderAlpha;
     }
     
     public String getName() {
         return name;
     }
     
+    /**
+     * 场景对象的只读视图（不拷贝），随场景更新而变化
+     */
     public List<GameObject> getGameObjects() {
-        return new ArrayList<>(gameObjects);
+        return gameObjectsView;
+    }
+    
+    public int getGameObjectCount() {
+        return gameObjectCount;
+    }
+    
+    public GameObject getGameObject(int index) {
+        if (index < 0 || index >= gameObjectCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + gameObjectCount);
+        }
+        return gameObjects[index];
+    }
+    
+    /**
+     * 最近一次 update 的对象增删统计
+     */
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+    
+    /**
+     * 每帧对象增删统计：新增数、移除数、压缩时移动的对象数
+     */
+    public static class FrameStats {
+        public int added;
+        public int removed;
+        public int compacted;
+        
+        void reset() {
+            added = 0;
+            removed = 0;
+            compacted = 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "added=" + added + ", removed=" + removed + ", compacted=" + compacted;
+        }
+    }
+    
+    /**
+     * 单个标签的成员集合，以实体 id 为键的稀疏集合，增删 O(1)
+     */
+    private static class TagSet extends AbstractList<GameObject> implements RandomAccess {
+        final EntityMap<GameObject> members = new EntityMap<>();
+        
+        @Override
+        public GameObject get(int index) {
+            if (index < 0 || index >= members.size()) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + members.size());
+            }
+            return members.valueAt(index);
+        }
+        
+        @Override
+        public int size() {
+            return members.size();
+        }
+    }
+    
+    private class GameObjectsView extends AbstractList<GameObject> implements RandomAccess {
+        @Override
+        public GameObject get(int index) {
+            return getGameObject(index);
+        }
+        
+        @Override
+        public int size() {
+            return gameObjectCount;
+        }
     }
 }
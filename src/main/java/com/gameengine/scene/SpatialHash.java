@@ -0,0 +1,340 @@
+package com.gameengine.scene;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 均匀网格空间哈希（宽相位）：条目以 AABB 登记到覆盖的所有格子中，
+ * 区域/半径查询只检查相关格子里的条目，代价约等于附近的对象数。
+ * 格子按 (cx, cy) 散列到开放寻址表，桶数组在空出后保留复用；
+ * 更新时覆盖的格子范围不变则不做任何桶操作。预热后插入、更新、查询都不分配内存。
+ * 非线程安全，修改与查询应在同一线程进行。
+ */
+public final class SpatialHash<T> {
+    private final float cellSize;
+    private final float inverseCellSize;
+    
+    // 条目，按句柄下标存放；释放的句柄放入空闲栈复用
+    private Object[] items;
+    private float[] bounds;        // 每条目 4 个：minX, minY, maxX, maxY
+    private int[] cellRanges;      // 每条目 4 个：cx0, cy0, cx1, cy1
+    private int[] stamps;          // 查询去重：条目最近一次被查询命中的序号
+    private boolean[] live;
+    private int[] freeHandles;
+    private int freeCount;
+    private int nextHandle;
+    private int size;
+    private int queryStamp;
+    
+    // 格子 -> 桶下标 的开放寻址表（slots 中 0 表示空，否则为桶下标 + 1）
+    private long[] keys;
+    private int[] slots;
+    private int cellCount;
+    // 桶：每个格子一个句柄数组
+    private int[][] buckets;
+    private int[] bucketSizes;
+    
+    public SpatialHash(float cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("格子尺寸必须为正数: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+        this.items = new Object[64];
+        this.bounds = new float[64 * 4];
+        this.cellRanges = new int[64 * 4];
+        this.stamps = new int[64];
+        this.live = new boolean[64];
+        this.freeHandles = new int[64];
+        this.keys = new long[256];
+        this.slots = new int[256];
+        this.buckets = new int[64][];
+        this.bucketSizes = new int[64];
+    }
+    
+    /**
+     * 登记条目，返回用于更新/移除的句柄
+     */
+    public int insert(T item, float minX, float minY, float maxX, float maxY) {
+        int handle;
+        if (freeCount > 0) {
+            handle = freeHandles[--freeCount];
+        } else {
+            handle = nextHandle++;
+            if (handle == items.length) {
+                int capacity = handle * 2;
+                items = Arrays.copyOf(items, capacity);
+                bounds = Arrays.copyOf(bounds, capacity * 4);
+                cellRanges = Arrays.copyOf(cellRanges, capacity * 4);
+                stamps = Arrays.copyOf(stamps, capacity);
+                live = Arrays.copyOf(live, capacity);
+            }
+        }
+        items[handle] = item;
+        live[handle] = true;
+        stamps[handle] = 0;
+        size++;
+        setBounds(handle, minX, minY, maxX, maxY);
+        int b = handle * 4;
+        int cx0 = cellOf(bounds[b]), cy0 = cellOf(bounds[b + 1]), cx1 = cellOf(bounds[b + 2]), cy1 = cellOf(bounds[b + 3]);
+        cellRanges[b] = cx0;
+        cellRanges[b + 1] = cy0;
+        cellRanges[b + 2] = cx1;
+        cellRanges[b + 3] = cy1;
+        addToCells(handle, cx0, cy0, cx1, cy1);
+        return handle;
+    }
+    
+    /**
+     * 更新条目的 AABB，覆盖的格子范围变化时才重新登记
+     */
+    public void update(int handle, float minX, float minY, float maxX, float maxY) {
+        checkHandle(handle);
+        setBounds(handle, minX, minY, maxX, maxY);
+        int b = handle * 4;
+        int cx0 = cellOf(bounds[b]), cy0 = cellOf(bounds[b + 1]), cx1 = cellOf(bounds[b + 2]), cy1 = cellOf(bounds[b + 3]);
+        if (cx0 == cellRanges[b] && cy0 == cellRanges[b + 1] && cx1 == cellRanges[b + 2] && cy1 == cellRanges[b + 3]) {
+            return;
+        }
+        removeFromCells(handle, cellRanges[b], cellRanges[b + 1], cellRanges[b + 2], cellRanges[b + 3]);
+        cellRanges[b] = cx0;
+        cellRanges[b + 1] = cy0;
+        cellRanges[b + 2] = cx1;
+        cellRanges[b + 3] = cy1;
+        addToCells(handle, cx0, cy0, cx1, cy1);
+    }
+    
+    public void remove(int handle) {
+        checkHandle(handle);
+        int b = handle * 4;
+        removeFromCells(handle, cellRanges[b], cellRanges[b + 1], cellRanges[b + 2], cellRanges[b + 3]);
+        items[handle] = null;
+        live[handle] = false;
+        size--;
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+    
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < nextHandle && live[handle];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        checkHandle(handle);
+        return (T) items[handle];
+    }
+    
+    /**
+     * 查询与矩形相交的条目，追加到 out（不清空），返回命中数
+     */
+    public int queryRegion(float minX, float minY, float maxX, float maxY, List<? super T> out) {
+        return query(minX, minY, maxX, maxY, Float.NaN, Float.NaN, 0, out);
+    }
+    
+    /**
+     * 查询 AABB 与圆相交的条目，追加到 out（不清空），返回命中数
+     */
+    public int queryRadius(float x, float y, float radius, List<? super T> out) {
+        return query(x - radius, y - radius, x + radius, y + radius, x, y, radius * radius, out);
+    }
+    
+    private int query(float minX, float minY, float maxX, float maxY,
+                      float circleX, float circleY, float radiusSquared, List<? super T> out) {
+        int stamp = nextStamp();
+        int cx0 = cellOf(minX), cy0 = cellOf(minY), cx1 = cellOf(maxX), cy1 = cellOf(maxY);
+        int hits = 0;
+        if ((long) (cx1 - cx0 + 1) * (cy1 - cy0 + 1) > cellCount) {
+            // 查询范围覆盖的格子比已有格子还多时，直接扫描所有桶
+            for (int bucket = 0; bucket < cellCount; bucket++) {
+                hits += scanBucket(bucket, stamp, minX, minY, maxX, maxY, circleX, circleY, radiusSquared, out);
+            }
+            return hits;
+        }
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int bucket = findBucket(cx, cy);
+                if (bucket >= 0) {
+                    hits += scanBucket(bucket, stamp, minX, minY, maxX, maxY, circleX, circleY, radiusSquared, out);
+                }
+            }
+        }
+        return hits;
+    }
+    
+    /**
+     * 检查一个桶内尚未访问的条目，circleX 为 NaN 时只做矩形相交测试
+     */
+    @SuppressWarnings("unchecked")
+    private int scanBucket(int bucket, int stamp, float minX, float minY, float maxX, float maxY,
+                           float circleX, float circleY, float radiusSquared, List<? super T> out) {
+        int[] handles = buckets[bucket];
+        int hits = 0;
+        for (int i = 0, n = bucketSizes[bucket]; i < n; i++) {
+            int h = handles[i];
+            if (stamps[h] == stamp) continue;
+            stamps[h] = stamp;
+            int b = h * 4;
+            float bMinX = bounds[b], bMinY = bounds[b + 1], bMaxX = bounds[b + 2], bMaxY = bounds[b + 3];
+            if (bMaxX < minX || bMinX > maxX || bMaxY < minY || bMinY > maxY) continue;
+            if (circleX == circleX) {
+                // 圆心到 AABB 的最近点距离
+                float dx = circleX < bMinX ? bMinX - circleX : (circleX > bMaxX ? circleX - bMaxX : 0);
+                float dy = circleY < bMinY ? bMinY - circleY : (circleY > bMaxY ? circleY - bMaxY : 0);
+                if (dx * dx + dy * dy > radiusSquared) continue;
+            }
+            out.add((T) items[h]);
+            hits++;
+        }
+        return hits;
+    }
+    
+    /**
+     * 移除全部条目，保留已分配的桶与数组
+     */
+    public void clear() {
+        Arrays.fill(items, 0, nextHandle, null);
+        Arrays.fill(live, 0, nextHandle, false);
+        Arrays.fill(bucketSizes, 0, cellCount, 0);
+        nextHandle = 0;
+        freeCount = 0;
+        size = 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public float getCellSize() {
+        return cellSize;
+    }
+    
+    /**
+     * 曾被占用过的格子数
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+    
+    private int nextStamp() {
+        if (++queryStamp == 0) {
+            // 序号回绕时清空旧标记，避免误判为已访问
+            Arrays.fill(stamps, 0);
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+    
+    private void checkHandle(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("无效的空间哈希句柄: " + handle);
+        }
+    }
+    
+    private void setBounds(int handle, float minX, float minY, float maxX, float maxY) {
+        int b = handle * 4;
+        bounds[b] = Math.min(minX, maxX);
+        bounds[b + 1] = Math.min(minY, maxY);
+        bounds[b + 2] = Math.max(minX, maxX);
+        bounds[b + 3] = Math.max(minY, maxY);
+    }
+    
+    private int cellOf(float v) {
+        return (int) Math.floor(v * inverseCellSize);
+    }
+    
+    private void addToCells(int handle, int cx0, int cy0, int cx1, int cy1) {
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int bucket = bucketFor(cx, cy);
+                int n = bucketSizes[bucket];
+                int[] handles = buckets[bucket];
+                if (n == handles.length) {
+                    handles = Arrays.copyOf(handles, n * 2);
+                    buckets[bucket] = handles;
+                }
+                handles[n] = handle;
+                bucketSizes[bucket] = n + 1;
+            }
+        }
+    }
+    
+    private void removeFromCells(int handle, int cx0, int cy0, int cx1, int cy1) {
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int bucket = findBucket(cx, cy);
+                if (bucket < 0) continue;
+                int[] handles = buckets[bucket];
+                int n = bucketSizes[bucket];
+                for (int i = 0; i < n; i++) {
+                    if (handles[i] == handle) {
+                        handles[i] = handles[n - 1];
+                        bucketSizes[bucket] = n - 1;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+    
+    private static long keyOf(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+    
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+    
+    private int findBucket(int cx, int cy) {
+        long key = keyOf(cx, cy);
+        int mask = slots.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == 0) return -1;
+            if (keys[i] == key) return slot - 1;
+        }
+    }
+    
+    private int bucketFor(int cx, int cy) {
+        long key = keyOf(cx, cy);
+        int mask = slots.length - 1;
+        int i = hash(key) & mask;
+        for (; slots[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) return slots[i] - 1;
+        }
+        int bucket = cellCount++;
+        if (bucket == buckets.length) {
+            buckets = Arrays.copyOf(buckets, bucket * 2);
+            bucketSizes = Arrays.copyOf(bucketSizes, bucket * 2);
+        }
+        buckets[bucket] = new int[4];
+        keys[i] = key;
+        slots[i] = bucket + 1;
+        if (cellCount * 2 > slots.length) {
+            rehash();
+        }
+        return bucket;
+    }
+    
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = new int[oldSlots.length * 2];
+        int mask = slots.length - 1;
+        for (int j = 0; j < oldSlots.length; j++) {
+            if (oldSlots[j] == 0) continue;
+            int i = hash(oldKeys[j]) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            slots[i] = oldSlots[j];
+        }
+    }
+}
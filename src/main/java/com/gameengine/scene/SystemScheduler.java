@@ -0,0 +1,147 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.ComponentRegistry;
+import com.gameengine.core.GameSystem;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 帧作业图：根据系统声明的读/写组件类型建立依赖，
+ * 互不冲突的系统在线程池上并行执行，只在真实依赖处等待。
+ * 依赖方向由系统的执行顺序决定；未声明访问集合的系统与所有系统冲突（独占执行）。
+ */
+class SystemScheduler {
+    private List<GameSystem> graphSystems = new ArrayList<>();
+    // deps[j] = 在系统 j 之前必须完成的系统下标
+    private int[][] deps = new int[0][];
+    // 以下在 rebuild() 中按图预分配，runParallel 每帧复用
+    private Runnable[] jobs = new Runnable[0];
+    private CompletableFuture<?>[][] joins = new CompletableFuture<?>[0][];
+    private CompletableFuture<?>[] futures = new CompletableFuture<?>[0];
+    private int[] leaves = new int[0];
+    private CompletableFuture<?>[] leafFutures = new CompletableFuture<?>[0];
+    private float deltaTime;
+    private boolean dirty = true;
+    
+    void invalidate() {
+        dirty = true;
+    }
+    
+    /**
+     * 依次执行所有系统（无并行）
+     */
+    void runSequential(List<GameSystem> systems, float deltaTime) {
+        for (int i = 0; i < systems.size(); i++) {
+            systems.get(i).update(deltaTime);
+        }
+    }
+    
+    /**
+     * 按依赖图在 executor 上并行执行，返回前等待所有系统完成
+     */
+    void runParallel(List<GameSystem> systems, float deltaTime, Executor executor) {
+        int n = systems.size();
+        if (n <= 1) {
+            runSequential(systems, deltaTime);
+            return;
+        }
+        if (dirty) {
+            rebuild(systems);
+        }
+        // 作业在提交之后才读取，runAsync 的提交保证了可见性
+        this.deltaTime = deltaTime;
+        for (int j = 0; j < n; j++) {
+            int[] d = deps[j];
+            if (d.length == 0) {
+                futures[j] = CompletableFuture.runAsync(jobs[j], executor);
+            } else if (d.length == 1) {
+                futures[j] = futures[d[0]].thenRunAsync(jobs[j], executor);
+            } else {
+                CompletableFuture<?>[] before = joins[j];
+                for (int k = 0; k < d.length; k++) {
+                    before[k] = futures[d[k]];
+                }
+                futures[j] = CompletableFuture.allOf(before).thenRunAsync(jobs[j], executor);
+            }
+        }
+        // 只需等待图中的“叶子”，其余系统必然已先完成
+        for (int k = 0; k < leaves.length; k++) {
+            leafFutures[k] = futures[leaves[k]];
+        }
+        try {
+            CompletableFuture.allOf(leafFutures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        } finally {
+            // 不跨帧持有已完成的 future
+            Arrays.fill(futures, null);
+            Arrays.fill(leafFutures, null);
+            for (CompletableFuture<?>[] before : joins) {
+                if (before != null) Arrays.fill(before, null);
+            }
+        }
+    }
+    
+    private void rebuild(List<GameSystem> systems) {
+        int n = systems.size();
+        graphSystems = new ArrayList<>(systems);
+        BitSet[] reads = new BitSet[n];
+        BitSet[] writes = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            GameSystem system = graphSystems.get(i);
+            reads[i] = toBits(system.getReads());
+            writes[i] = toBits(system.getWrites());
+        }
+        deps = new int[n][];
+        jobs = new Runnable[n];
+        joins = new CompletableFuture<?>[n][];
+        futures = new CompletableFuture<?>[n];
+        BitSet hasDependents = new BitSet(n);
+        for (int j = 0; j < n; j++) {
+            int[] d = new int[j];
+            int count = 0;
+            for (int i = 0; i < j; i++) {
+                if (conflicts(reads[i], writes[i], reads[j], writes[j])) {
+                    d[count++] = i;
+                    hasDependents.set(i);
+                }
+            }
+            deps[j] = Arrays.copyOf(d, count);
+            if (count > 1) {
+                joins[j] = new CompletableFuture<?>[count];
+            }
+            GameSystem system = graphSystems.get(j);
+            jobs[j] = () -> system.update(this.deltaTime);
+        }
+        leaves = new int[n - hasDependents.cardinality()];
+        int count = 0;
+        for (int j = 0; j < n; j++) {
+            if (!hasDependents.get(j)) leaves[count++] = j;
+        }
+        leafFutures = new CompletableFuture<?>[leaves.length];
+        dirty = false;
+    }
+    
+    private static boolean conflicts(BitSet ra, BitSet wa, BitSet rb, BitSet wb) {
+        // null 表示未声明：独占
+        if (ra == null || wa == null || rb == null || wb == null) return true;
+        return wa.intersects(rb) || wa.intersects(wb) || ra.intersects(wb);
+    }
+    
+    private static BitSet toBits(Class<?>[] types) {
+        if (types == null) return null;
+        BitSet bits = new BitSet();
+        for (Class<?> type : types) {
+            bits.set(ComponentRegistry.idOf(type));
+        }
+        return bits;
+    }
+}
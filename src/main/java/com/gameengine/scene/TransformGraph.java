@@ -0,0 +1,98 @@
+package com.gameengine.scene;
+
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 场景的父子变换层级，按深度优先顺序展平为数组：父节点总在子节点之前，
+ * 世界变换的传播是一次线性遍历。只有自身或祖先发生变化的节点才重算矩阵。
+ * 没有 Transform 的对象不占节点，其子对象直接挂到最近的带 Transform 的祖先上。
+ * 层级结构变化时只做标记，在下一次传播前整体重建。
+ */
+final class TransformGraph {
+    private TransformComponent[] nodes = new TransformComponent[16];
+    // 父节点下标，根为 -1
+    private int[] parents = new int[16];
+    // 本次传播中世界矩阵是否被重算
+    private boolean[] changed = new boolean[16];
+    private int count;
+    private boolean dirty;
+    private final Scene scene;
+    
+    TransformGraph(Scene scene) {
+        this.scene = scene;
+    }
+    
+    void invalidate() {
+        dirty = true;
+    }
+    
+    int size() {
+        return count;
+    }
+    
+    /**
+     * 按深度优先顺序传播世界变换
+     * @param alpha 局部位置的插值系数
+     */
+    void update(GameObject[] objects, int objectCount, float alpha) {
+        if (dirty) {
+            rebuild(objects, objectCount);
+        }
+        TransformComponent[] nodes = this.nodes;
+        int[] parents = this.parents;
+        boolean[] changed = this.changed;
+        for (int i = 0; i < count; i++) {
+            int p = parents[i];
+            changed[i] = p < 0
+                ? nodes[i].updateWorldTransform(null, false, alpha)
+                : nodes[i].updateWorldTransform(nodes[p], changed[p], alpha);
+        }
+    }
+    
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            nodes[i].resetWorldTransform();
+        }
+        Arrays.fill(nodes, 0, count, null);
+        count = 0;
+        dirty = false;
+    }
+    
+    private void rebuild(GameObject[] objects, int objectCount) {
+        clear();
+        for (int i = 0; i < objectCount; i++) {
+            GameObject obj = objects[i];
+            // 只从层级的根出发：没有父对象（或父对象不在本场景）且带子对象
+            GameObject parent = obj.getParent();
+            if (obj.getChildCount() > 0 && (parent == null || parent.getScene() != scene)) {
+                visit(obj, -1);
+            }
+        }
+    }
+    
+    private void visit(GameObject obj, int parentIndex) {
+        if (obj.getScene() != scene) {
+            // 尚未加入场景的子对象在加入时会再次触发重建
+            return;
+        }
+        int index = parentIndex;
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform != null) {
+            if (count == nodes.length) {
+                nodes = Arrays.copyOf(nodes, count * 2);
+                parents = Arrays.copyOf(parents, count * 2);
+                changed = Arrays.copyOf(changed, count * 2);
+            }
+            index = count++;
+            nodes[index] = transform;
+            parents[index] = parentIndex;
+        }
+        List<GameObject> children = obj.getChildren();
+        for (int i = 0, n = children.size(); i < n; i++) {
+            visit(children.get(i), index);
+        }
+    }
+}
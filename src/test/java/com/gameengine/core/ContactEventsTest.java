@@ -0,0 +1,146 @@
+package com.gameengine.core;
+
+import com.gameengine.components.CircleCollider;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+import java.util.List;
+
+/**
+ * 接触事件的无窗口自检：休眠、唤醒、瞬移与移除时 ENTER / STAY / EXIT 的转换
+ */
+public final class ContactEventsTest {
+    private static final float DT = 1.0f / 60.0f;
+    
+    private ContactEventsTest() {}
+    
+    public static void main(String[] args) {
+        for (boolean chunk : new boolean[] {false, true}) {
+            sleepingPairKeepsContact(chunk);
+            teleportAndRemovalEndContact(chunk);
+        }
+        System.out.println("ContactEventsTest: OK");
+    }
+    
+    /**
+     * 两个重叠的静止刚体：ENTER 之后一直 STAY，双双休眠、再被唤醒都不产生 EXIT 或重复的 ENTER
+     */
+    private static void sleepingPairKeepsContact(boolean chunk) {
+        World world = new World(chunk);
+        GameObject a = world.body("a", 100, 100);
+        GameObject b = world.body("b", 110, 100);
+        
+        world.step();
+        check(world.typeBetween(a, b) == ContactEvent.Type.ENTER, "首帧应为 ENTER");
+        world.step();
+        check(world.typeBetween(a, b) == ContactEvent.Type.STAY, "第二帧应为 STAY");
+        
+        int frames = 0;
+        while (!(body(a).isSleeping() && body(b).isSleeping())) {
+            check(++frames < 120, "静止刚体未能进入休眠");
+            world.step();
+            check(world.typeBetween(a, b) == ContactEvent.Type.STAY, "入睡前应保持 STAY");
+        }
+        for (int i = 0; i < 10; i++) {
+            world.step();
+            check(world.typeBetween(a, b) == ContactEvent.Type.STAY, "休眠中的接触应保持 STAY");
+        }
+        
+        body(a).applyImpulse(new Vector2(0.001f, 0));
+        check(!body(a).isSleeping(), "冲量应唤醒刚体");
+        world.step();
+        check(world.typeBetween(a, b) == ContactEvent.Type.STAY, "唤醒后应保持 STAY");
+    }
+    
+    /**
+     * 休眠中的刚体被瞬移开应唤醒并产生 EXIT；重新接触产生 ENTER；移除一方产生 EXIT 且之后不再有事件
+     */
+    private static void teleportAndRemovalEndContact(boolean chunk) {
+        World world = new World(chunk);
+        GameObject a = world.body("a", 100, 100);
+        GameObject b = world.body("b", 110, 100);
+        for (int i = 0; i < 120 && !(body(a).isSleeping() && body(b).isSleeping()); i++) {
+            world.step();
+        }
+        check(body(a).isSleeping() && body(b).isSleeping(), "静止刚体未能进入休眠");
+        
+        a.getComponent(TransformComponent.class).teleport(500, 500);
+        check(!body(a).isSleeping(), "瞬移应唤醒休眠的刚体");
+        world.step();
+        check(world.typeBetween(a, b) == ContactEvent.Type.EXIT, "瞬移离开后应为 EXIT");
+        world.step();
+        check(world.typeBetween(a, b) == null, "EXIT 之后不应再有事件");
+        
+        a.getComponent(TransformComponent.class).teleport(105, 100);
+        world.step();
+        check(world.typeBetween(a, b) == ContactEvent.Type.ENTER, "重新重叠应为 ENTER");
+        
+        world.scene.removeGameObject(b);
+        // 场景的移除在下一次 update 时生效，EXIT 最迟在其后一帧给出
+        ContactEvent.Type seen = null;
+        for (int i = 0; i < 3 && seen != ContactEvent.Type.EXIT; i++) {
+            world.step();
+            seen = world.typeBetween(a, b);
+        }
+        check(seen == ContactEvent.Type.EXIT, "移除一方后应为 EXIT");
+        world.step();
+        check(world.typeBetween(a, b) == null, "移除后不应再有事件");
+    }
+    
+    private static PhysicsComponent body(GameObject obj) {
+        return obj.getComponent(PhysicsComponent.class);
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+    
+    /**
+     * 只带物理与碰撞系统的场景，按固定步长推进
+     */
+    private static final class World {
+        final Scene scene = new Scene("contact-events");
+        final CollisionSystem collisions = new CollisionSystem(scene);
+        
+        World(boolean chunk) {
+            PhysicsSystem physics = new PhysicsSystem(scene, 800, 600);
+            physics.setArchetypeStorage(chunk);
+            physics.setSleepDelay(0.1f);
+            physics.setCollisionSystem(collisions);
+            scene.addSystem(physics);
+            scene.addSystem(collisions);
+        }
+        
+        GameObject body(String name, float x, float y) {
+            GameObject obj = new GameObject(name);
+            obj.addComponent(new TransformComponent(new Vector2(x, y)));
+            obj.addComponent(new PhysicsComponent(1.0f));
+            obj.addComponent(new CircleCollider(10));
+            scene.addGameObject(obj);
+            return obj;
+        }
+        
+        void step() {
+            scene.update(DT);
+        }
+        
+        /**
+         * 本帧 a、b 之间的事件类型，没有时返回 null
+         */
+        ContactEvent.Type typeBetween(GameObject a, GameObject b) {
+            List<ContactEvent> events = collisions.getEvents();
+            ContactEvent.Type type = null;
+            for (int i = 0, n = events.size(); i < n; i++) {
+                ContactEvent event = events.get(i);
+                if (event.involves(a) && event.other(a) == b) {
+                    check(type == null, "同一对在一帧内出现多个事件");
+                    type = event.getType();
+                }
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * PairTable 的无窗口自检：插入、删除（回移后继元素）之后探测链上的每个键仍能查到
+ */
+public final class PairTableTest {
+    // 初始容量，与 PairTable 保持一致
+    private static final int CAPACITY = 32;
+    
+    private PairTableTest() {}
+    
+    public static void main(String[] args) {
+        collidingChainSurvivesRemoval();
+        chainWrapsAroundTableEnd();
+        putOverwritesWithoutGrowing();
+        randomOpsMatchHashMap();
+        clearEmptiesTable();
+        System.out.println("PairTableTest: OK");
+    }
+    
+    /**
+     * 同一起始桶上的一串键，逐个删除中间和开头的元素后其余键都能查到
+     */
+    private static void collidingChainSurvivesRemoval() {
+        long[] chain = keysWithHome(5, 8);
+        PairTable table = new PairTable();
+        for (int i = 0; i < chain.length; i++) {
+            table.put(chain[i], i);
+        }
+        int[] order = {3, 0, 7, 4, 1, 6, 2, 5};
+        boolean[] removed = new boolean[chain.length];
+        for (int r : order) {
+            table.remove(chain[r]);
+            removed[r] = true;
+            for (int i = 0; i < chain.length; i++) {
+                check(table.get(chain[i]) == (removed[i] ? -1 : i), "删除 " + r + " 后键 " + i + " 查找错误");
+            }
+        }
+        check(table.size() == 0, "全部删除后 size 应为 0: " + table.size());
+    }
+    
+    /**
+     * 起始桶在表尾的探测链会绕回表头，删除后回移也要跨过表尾
+     */
+    private static void chainWrapsAroundTableEnd() {
+        long[] chain = keysWithHome(CAPACITY - 2, 5);
+        long[] neighbours = keysWithHome(0, 2);
+        PairTable table = new PairTable();
+        for (int i = 0; i < chain.length; i++) {
+            table.put(chain[i], i);
+        }
+        for (int i = 0; i < neighbours.length; i++) {
+            table.put(neighbours[i], 100 + i);
+        }
+        table.remove(chain[0]);
+        table.remove(chain[2]);
+        for (int i = 0; i < chain.length; i++) {
+            int expected = (i == 0 || i == 2) ? -1 : i;
+            check(table.get(chain[i]) == expected, "绕回链上键 " + i + " 查找错误");
+        }
+        for (int i = 0; i < neighbours.length; i++) {
+            check(table.get(neighbours[i]) == 100 + i, "表头键 " + i + " 被回移破坏");
+        }
+        check(table.size() == chain.length - 2 + neighbours.length, "size 错误: " + table.size());
+    }
+    
+    private static void putOverwritesWithoutGrowing() {
+        PairTable table = new PairTable();
+        table.put(42L, 1);
+        table.put(42L, 2);
+        check(table.get(42L) == 2, "重复 put 应覆盖旧值");
+        check(table.size() == 1, "重复 put 不应增加 size");
+        table.remove(7L);
+        check(table.size() == 1, "删除不存在的键不应改变 size");
+    }
+    
+    /**
+     * 随机增删（含多次扩容）与 HashMap 对照
+     */
+    private static void randomOpsMatchHashMap() {
+        Random random = new Random(12345);
+        PairTable table = new PairTable();
+        Map<Long, Integer> reference = new HashMap<>();
+        // 碰撞体对的键由两个 id 拼成，这里用同样的形式
+        long[] universe = new long[600];
+        for (int i = 0; i < universe.length; i++) {
+            universe[i] = ((long) random.nextInt(1 << 20) << 32) | random.nextInt(1 << 20);
+        }
+        for (int op = 0; op < 200_000; op++) {
+            long key = universe[random.nextInt(universe.length)];
+            if (random.nextInt(3) == 0) {
+                table.remove(key);
+                reference.remove(key);
+            } else {
+                table.put(key, op);
+                reference.put(key, op);
+            }
+            if (op % 1000 == 0) {
+                for (long k : universe) {
+                    Integer expected = reference.get(k);
+                    check(table.get(k) == (expected == null ? -1 : expected), "第 " + op + " 步后键 " + k + " 查找错误");
+                }
+                check(table.size() == reference.size(), "第 " + op + " 步后 size 错误");
+            }
+        }
+    }
+    
+    private static void clearEmptiesTable() {
+        PairTable table = new PairTable();
+        for (long k = 0; k < 100; k++) {
+            table.put(k, (int) k);
+        }
+        table.clear();
+        check(table.size() == 0, "clear 后 size 应为 0");
+        for (long k = 0; k < 100; k++) {
+            check(table.get(k) == -1, "clear 后仍能查到键 " + k);
+        }
+        table.put(5L, 9);
+        check(table.get(5L) == 9, "clear 后无法重新插入");
+    }
+    
+    /**
+     * 在初始容量下起始桶为 home 的 count 个键
+     */
+    private static long[] keysWithHome(int home, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long k = 1; keys.size() < count; k++) {
+            if ((PairTable.hash(k) & (CAPACITY - 1)) == home) keys.add(k);
+        }
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = keys.get(i);
+        }
+        return result;
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
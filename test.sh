@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+
+set -e
+
+# compile engine sources first
+bash ./compile.sh
+
+echo "Compiling tests..."
+
+mkdir -p build/test-classes
+
+TEST_LIST="build/sources_test.txt"
+find src/test/java -name '*.java' > "$TEST_LIST"
+
+javac --add-modules jdk.incubator.vector -encoding UTF-8 -cp build/classes -d build/test-classes @"$TEST_LIST"
+
+# every *Test class is a headless check with a main method; a failed check throws and stops the script
+for f in $(find src/test/java -name '*Test.java' | sort); do
+    cls=${f#src/test/java/}
+    cls=${cls%.java}
+    cls=${cls//\//.}
+    echo "Running $cls..."
+    java --add-modules jdk.incubator.vector -cp build/classes:build/test-classes "$cls"
+done
+
+echo "All tests passed."